@@ -1,5 +1,3 @@
-const API_BASE_URL = 'http://localhost:8080/api';
-
 let currentEditingTask = null;
 let categories = [];
 let tasks = [];
@@ -24,6 +22,71 @@ async function initializeApp() {
     await loadCategories();
     await loadTasks();
     setupEventListeners();
+    openChangeStream();
+}
+
+let changeStream = null;
+let lastEventId = null;
+let reloadTimer = null;
+
+async function openChangeStream() {
+    if (typeof EventSource === 'undefined') {
+        return;
+    }
+
+    let ticket;
+    try {
+        ticket = await fetchStreamTicket();
+    } catch (error) {
+        console.error('Stream ticket error:', error);
+        setTimeout(openChangeStream, 5000);
+        return;
+    }
+    // No ticket means the session is gone for good
+    if (!ticket) {
+        return;
+    }
+
+    // A new EventSource does not send Last-Event-ID, so it goes in the URL to resume the replay
+    let url = `${API_BASE_URL}/stream?ticket=${encodeURIComponent(ticket)}`;
+    if (lastEventId) {
+        url += `&lastEventId=${encodeURIComponent(lastEventId)}`;
+    }
+    changeStream = new EventSource(url);
+
+    changeStream.addEventListener('change', function(event) {
+        lastEventId = event.lastEventId;
+        scheduleReload();
+    });
+    changeStream.addEventListener('resync', scheduleReload);
+
+    changeStream.onerror = function() {
+        // Tickets are single-use, so the browser's own reconnect is refused and a new ticket is needed
+        changeStream.close();
+        setTimeout(openChangeStream, 1000);
+    };
+}
+
+async function fetchStreamTicket() {
+    const response = await authFetch('/stream/ticket', { method: 'POST' });
+
+    if (isUnauthorized(response)) {
+        return null;
+    }
+    if (!response.ok) {
+        throw new Error(`Stream ticket request failed: ${response.status}`);
+    }
+
+    const data = await response.json();
+    return data.ticket;
+}
+
+function scheduleReload() {
+    clearTimeout(reloadTimer);
+    reloadTimer = setTimeout(async () => {
+        await loadCategories();
+        await loadTasks();
+    }, 200);
 }
 
 function setupEventListeners() {
@@ -138,31 +201,21 @@ async function updateTaskStatus(taskId, status) {
 }
 
 function logout() {
+    if (changeStream) {
+        changeStream.close();
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('username');
     localStorage.removeItem('email');
     window.location.href = 'login.html';
 }
 
-function getAuthHeader() {
-    const token = localStorage.getItem('token');
-    return {
-        'Authorization': `Bearer ${token}`,
-        'Content-Type': 'application/json'
-    };
-}
-
 async function apiCall(url, options = {}) {
     try {
-        const response = await fetch(`${API_BASE_URL}${url}`, {
-            ...options,
-            headers: {
-                ...getAuthHeader(),
-                ...options.headers
-            }
-        });
+        const response = await authFetch(url, options);
 
-        if (response.status === 401) {
+        if (isUnauthorized(response)) {
             logout();
             return;
         }
@@ -224,7 +277,7 @@ function updateCategoryList() {
             <div class="category-info">
                 <div class="category-color" style="background-color: ${category.colorCode}"></div>
                 <div>
-                    <div><strong>${category.name}</strong></div>
+                    <div><strong>${category.name}</strong> (${category.openTaskCount ?? 0}/${category.taskCount ?? 0})</div>
                     <div>${category.description || ''}</div>
                 </div>
             </div>
@@ -30,6 +30,7 @@ if (document.getElementById('login-form')) {
 
             if (response.ok) {
                 localStorage.setItem('token', data.token);
+                localStorage.setItem('refreshToken', data.refreshToken);
                 localStorage.setItem('username', data.username);
                 localStorage.setItem('email', data.email);
 
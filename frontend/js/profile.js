@@ -1,5 +1,3 @@
-const API_BASE_URL = 'http://localhost:8080/api';
-
 document.addEventListener('DOMContentLoaded', function() {
     const token = localStorage.getItem('token');
     if (!token) {
@@ -13,25 +11,16 @@ document.addEventListener('DOMContentLoaded', function() {
 
 async function loadUserProfile() {
     try {
-        const token = localStorage.getItem('token');
-        const response = await fetch(`${API_BASE_URL}/profile`, {
-            method: 'GET',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            }
-        });
+        const response = await authFetch('/profile', { method: 'GET' });
 
         if (response.ok) {
             const profile = await response.json();
             populateProfileForm(profile);
             updateWelcomeMessage(profile.username);
+        } else if (isUnauthorized(response)) {
+            endSession();
         } else {
             showMessage('Failed to load profile', 'error');
-            if (response.status === 401) {
-                localStorage.clear();
-                window.location.href = 'login.html';
-            }
         }
     } catch (error) {
         console.error('Load profile error:', error);
@@ -87,28 +76,27 @@ async function handleProfileUpdate(e) {
     };
 
     try {
-        const token = localStorage.getItem('token');
-        const response = await fetch(`${API_BASE_URL}/profile`, {
+        const response = await authFetch('/profile', {
             method: 'PUT',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            },
             body: JSON.stringify(formData)
         });
 
-        const message = await response.text();
-
-        if (response.ok) {
-            showMessage(message, 'success');
-            if (formData.username !== localStorage.getItem('username')) {
-                localStorage.setItem('username', formData.username);
+        if (isUnauthorized(response)) {
+            endSession();
+        } else if (response.ok) {
+            const result = await response.json();
+            showMessage(result.message, 'success');
+            // A username change replaces the session; keep using the new tokens
+            if (result.session) {
+                localStorage.setItem('token', result.session.token);
+                localStorage.setItem('refreshToken', result.session.refreshToken);
+                localStorage.setItem('username', result.session.username);
             }
             setTimeout(() => {
                 loadUserProfile();
             }, 1000);
         } else {
-            showMessage(message, 'error');
+            showMessage(await response.text(), 'error');
         }
     } catch (error) {
         console.error('Profile update error:', error);
@@ -135,15 +123,14 @@ async function handlePasswordChange(e) {
     };
 
     try {
-        const token = localStorage.getItem('token');
-        const response = await fetch(`${API_BASE_URL}/profile/change-password`, {
+        const response = await authFetch('/profile/change-password', {
             method: 'PUT',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            },
             body: JSON.stringify(formData)
         });
+        if (isUnauthorized(response)) {
+            endSession();
+            return;
+        }
 
         const message = await response.text();
 
@@ -184,14 +171,11 @@ function hideDeleteModal() {
 
 async function handleAccountDeletion() {
     try {
-        const token = localStorage.getItem('token');
-        const response = await fetch(`${API_BASE_URL}/profile`, {
-            method: 'DELETE',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            }
-        });
+        const response = await authFetch('/profile', { method: 'DELETE' });
+        if (isUnauthorized(response)) {
+            endSession();
+            return;
+        }
 
         const message = await response.text();
 
@@ -214,22 +198,20 @@ async function handleAccountDeletion() {
 
 async function handleLogout() {
     try {
-        const token = localStorage.getItem('token');
-        await fetch(`${API_BASE_URL}/auth/logout`, {
-            method: 'POST',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            }
-        });
+        await authFetch('/auth/logout', { method: 'POST' });
     } catch (error) {
         console.error('Logout error:', error);
     } finally {
-        localStorage.clear();
-        window.location.href = 'login.html';
+        endSession();
     }
 }
 
+// Reached only once the refresh token has been rejected too
+function endSession() {
+    localStorage.clear();
+    window.location.href = 'login.html';
+}
+
 function showMessage(message, type) {
     const messageDiv = document.getElementById('message');
     messageDiv.textContent = message;
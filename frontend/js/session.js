@@ -0,0 +1,74 @@
+const API_BASE_URL = 'http://localhost:8080/api';
+
+// Shared by every page that calls the API with the stored session
+
+function getAuthHeader() {
+    const token = localStorage.getItem('token');
+    return {
+        'Authorization': `Bearer ${token}`,
+        'Content-Type': 'application/json'
+    };
+}
+
+let refreshInFlight = null;
+
+// Concurrent 401s share one refresh: a second request with the same, now rotated, refresh token
+// would be rejected by the server
+function refreshSession() {
+    if (!refreshInFlight) {
+        refreshInFlight = doRefreshSession().finally(() => {
+            refreshInFlight = null;
+        });
+    }
+    return refreshInFlight;
+}
+
+async function doRefreshSession() {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+        return false;
+    }
+
+    try {
+        const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json'
+            },
+            body: JSON.stringify({ refreshToken: refreshToken })
+        });
+
+        if (!response.ok) {
+            return false;
+        }
+
+        const data = await response.json();
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return true;
+    } catch (error) {
+        console.error('Refresh error:', error);
+        return false;
+    }
+}
+
+// fetch() against the API with the access token. An expired token is refreshed once and the
+// request retried; a 401/403 that survives the refresh is returned to the caller.
+async function authFetch(url, options = {}, retried = false) {
+    const response = await fetch(`${API_BASE_URL}${url}`, {
+        ...options,
+        headers: {
+            ...getAuthHeader(),
+            ...options.headers
+        }
+    });
+
+    if ((response.status === 401 || response.status === 403) && !retried && await refreshSession()) {
+        return authFetch(url, options, true);
+    }
+    return response;
+}
+
+function isUnauthorized(response) {
+    return response.status === 401 || response.status === 403;
+}
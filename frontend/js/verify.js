@@ -39,6 +39,7 @@ document.getElementById('verify-form').addEventListener('submit', async function
 
         if (response.ok) {
             localStorage.setItem('token', data.token);
+            localStorage.setItem('refreshToken', data.refreshToken);
             localStorage.setItem('username', data.username);
             localStorage.setItem('email', data.email);
 
@@ -0,0 +1,31 @@
+package org.project.backend.hubt.todo_list.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, EndpointLimits> endpoints = new HashMap<>();
+
+    @Data
+    public static class EndpointLimits {
+        private Bucket ip;
+        private Bucket identity;
+        private Bucket global;
+    }
+
+    @Data
+    public static class Bucket {
+        private long capacity;
+        private long refillPerMinute;
+    }
+}
@@ -0,0 +1,132 @@
+package org.project.backend.hubt.todo_list.config;
+
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Positional binary layout: no field names or type hints, unlike GenericJackson2JsonRedisSerializer
+public class TaskListRedisSerializer implements RedisSerializer<List<TaskResponse>> {
+
+    // Bump when the layout changes; entries in an older format then read as cache misses
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+
+    @Override
+    public byte[] serialize(List<TaskResponse> tasks) throws SerializationException {
+        if (tasks == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + tasks.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(tasks.size());
+            for (TaskResponse task : tasks) {
+                out.writeLong(task.getId());
+                out.writeUTF(task.getTitle());
+                writeString(out, task.getDescription());
+                out.writeByte(task.getIsCompleted() == null ? -1 : task.getIsCompleted() ? 1 : 0);
+                out.writeByte(task.getStatus() == null ? -1 : task.getStatus().ordinal());
+                out.writeByte(task.getPriority() == null ? -1 : task.getPriority().ordinal());
+                writeDateTime(out, task.getDueDate());
+                writeDateTime(out, task.getCompletedAt());
+                writeDateTime(out, task.getCreatedAt());
+                writeDateTime(out, task.getUpdatedAt());
+
+                TaskResponse.CategoryResponse category = task.getCategory();
+                out.writeBoolean(category != null);
+                if (category != null) {
+                    out.writeLong(category.getId());
+                    writeString(out, category.getName());
+                    writeString(out, category.getColorCode());
+                }
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize task list", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public List<TaskResponse> deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+
+            int size = in.readInt();
+            List<TaskResponse> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                TaskResponse task = new TaskResponse();
+                task.setId(in.readLong());
+                task.setTitle(in.readUTF());
+                task.setDescription(readString(in));
+                byte completed = in.readByte();
+                task.setIsCompleted(completed < 0 ? null : completed == 1);
+                byte status = in.readByte();
+                task.setStatus(status < 0 ? null : STATUSES[status]);
+                byte priority = in.readByte();
+                task.setPriority(priority < 0 ? null : PRIORITIES[priority]);
+                task.setDueDate(readDateTime(in));
+                task.setCompletedAt(readDateTime(in));
+                task.setCreatedAt(readDateTime(in));
+                task.setUpdatedAt(readDateTime(in));
+
+                if (in.readBoolean()) {
+                    TaskResponse.CategoryResponse category = new TaskResponse.CategoryResponse();
+                    category.setId(in.readLong());
+                    category.setName(readString(in));
+                    category.setColorCode(readString(in));
+                    task.setCategory(category);
+                }
+                tasks.add(task);
+            }
+            return tasks;
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Could not deserialize task list", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -1,10 +1,13 @@
 package org.project.backend.hubt.todo_list.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.project.backend.hubt.todo_list.dto.*;
-import org.springframework.security.core.Authentication;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.project.backend.hubt.todo_list.service.AuthService;
+import org.project.backend.hubt.todo_list.service.RateLimiterService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,46 +18,67 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final RateLimiterService rateLimiterService;
 
     @PostMapping("/register")
-    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<String> register(@Valid @RequestBody RegisterRequest request,
+                                           HttpServletRequest httpRequest) {
+        rateLimiterService.check("register", httpRequest.getRemoteAddr(), request.getEmail());
         String message = authService.register(request);
         return ResponseEntity.ok(message);
     }
 
     @PostMapping("/verify")
-    public ResponseEntity<AuthResponse> verifyAccount(@Valid @RequestBody VerifyOtpRequest request) {
+    public ResponseEntity<AuthResponse> verifyAccount(@Valid @RequestBody VerifyOtpRequest request,
+                                                      HttpServletRequest httpRequest) {
+        rateLimiterService.check("verify", httpRequest.getRemoteAddr(), request.getEmail());
         AuthResponse response = authService.verifyAccount(request);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/resend-verification")
-    public ResponseEntity<String> resendVerificationOtp(@RequestParam String email) {
+    public ResponseEntity<String> resendVerificationOtp(@RequestParam String email,
+                                                        HttpServletRequest httpRequest) {
+        rateLimiterService.check("resend-otp", httpRequest.getRemoteAddr(), email);
         String message = authService.resendVerificationOtp(email);
         return ResponseEntity.ok(message);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request,
+                                              HttpServletRequest httpRequest) {
+        rateLimiterService.check("login", httpRequest.getRemoteAddr(), request.getUsernameOrEmail());
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request,
+                                                HttpServletRequest httpRequest) {
+        rateLimiterService.check("refresh", httpRequest.getRemoteAddr(), null);
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/forgot-password")
-    public ResponseEntity<String> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<String> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request,
+                                                 HttpServletRequest httpRequest) {
+        rateLimiterService.check("forgot-password", httpRequest.getRemoteAddr(), request.getEmail());
         String message = authService.forgotPassword(request);
         return ResponseEntity.ok(message);
     }
 
     @PostMapping("/reset-password")
-    public ResponseEntity<String> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+    public ResponseEntity<String> resetPassword(@Valid @RequestBody ResetPasswordRequest request,
+                                                HttpServletRequest httpRequest) {
+        rateLimiterService.check("reset-password", httpRequest.getRemoteAddr(), request.getEmail());
         String message = authService.resetPassword(request);
         return ResponseEntity.ok(message);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(Authentication authentication) {
-        authService.logout(authentication.getName());
+    public ResponseEntity<String> logout(@AuthenticationPrincipal JwtPrincipal principal) {
+        authService.logout(principal.getUserId(), principal.getUsername());
         return ResponseEntity.ok("Logged out successfully");
     }
 }
\ No newline at end of file
@@ -4,10 +4,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.project.backend.hubt.todo_list.dto.CategoryRequest;
 import org.project.backend.hubt.todo_list.dto.CategoryResponse;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
 import org.project.backend.hubt.todo_list.service.CategoryService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,36 +24,43 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories(Authentication authentication) {
-        List<CategoryResponse> categories = categoryService.getAllCategories(authentication.getName());
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                   WebRequest webRequest) {
+        String etag = categoryService.getCategoryListEtag(principal.getUserId());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        List<CategoryResponse> categories = categoryService.getAllCategories(principal.getUserId());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return (etag != null ? builder.eTag(etag) : builder).body(categories);
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> createCategory(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @Valid @RequestBody CategoryRequest request) {
 
-        CategoryResponse category = categoryService.createCategory(authentication.getName(), request);
+        CategoryResponse category = categoryService.createCategory(principal.getUserId(), request);
         return ResponseEntity.ok(category);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CategoryResponse> updateCategory(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id,
             @Valid @RequestBody CategoryRequest request) {
 
-        CategoryResponse category = categoryService.updateCategory(authentication.getName(), id, request);
+        CategoryResponse category = categoryService.updateCategory(principal.getUserId(), id, request);
         return ResponseEntity.ok(category);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id) {
 
-        categoryService.deleteCategory(authentication.getName(), id);
+        categoryService.deleteCategory(principal.getUserId(), id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -4,10 +4,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.project.backend.hubt.todo_list.dto.ChangePasswordRequest;
 import org.project.backend.hubt.todo_list.dto.UpdateProfileRequest;
+import org.project.backend.hubt.todo_list.dto.UpdateProfileResponse;
 import org.project.backend.hubt.todo_list.dto.UserProfileResponse;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
 import org.project.backend.hubt.todo_list.service.ProfileService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,34 +21,30 @@ public class ProfileController {
     private final ProfileService profileService;
 
     @GetMapping
-    public ResponseEntity<UserProfileResponse> getProfile(Authentication authentication) {
-        String username = authentication.getName();
-        UserProfileResponse profile = profileService.getUserProfile(username);
+    public ResponseEntity<UserProfileResponse> getProfile(@AuthenticationPrincipal JwtPrincipal principal) {
+        UserProfileResponse profile = profileService.getUserProfile(principal.getUserId());
         return ResponseEntity.ok(profile);
     }
 
     @PutMapping
-    public ResponseEntity<String> updateProfile(
+    public ResponseEntity<UpdateProfileResponse> updateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
-            Authentication authentication) {
-        String currentUsername = authentication.getName();
-        String message = profileService.updateProfile(currentUsername, request);
-        return ResponseEntity.ok(message);
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        UpdateProfileResponse response = profileService.updateProfile(principal.getUserId(), request);
+        return ResponseEntity.ok(response);
     }
 
     @PutMapping("/change-password")
     public ResponseEntity<String> changePassword(
             @Valid @RequestBody ChangePasswordRequest request,
-            Authentication authentication) {
-        String username = authentication.getName();
-        String message = profileService.changePassword(username, request);
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        String message = profileService.changePassword(principal.getUserId(), request);
         return ResponseEntity.ok(message);
     }
 
     @DeleteMapping
-    public ResponseEntity<String> deleteAccount(Authentication authentication) {
-        String username = authentication.getName();
-        String message = profileService.deleteAccount(username);
+    public ResponseEntity<String> deleteAccount(@AuthenticationPrincipal JwtPrincipal principal) {
+        String message = profileService.deleteAccount(principal.getUserId());
         return ResponseEntity.ok(message);
     }
 }
\ No newline at end of file
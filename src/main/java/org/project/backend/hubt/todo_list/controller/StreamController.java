@@ -0,0 +1,40 @@
+package org.project.backend.hubt.todo_list.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.project.backend.hubt.todo_list.dto.StreamTicketResponse;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
+import org.project.backend.hubt.todo_list.service.ChangeStreamService;
+import org.project.backend.hubt.todo_list.service.StreamTicketService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StreamController {
+
+    private final ChangeStreamService changeStreamService;
+    private final StreamTicketService streamTicketService;
+
+    // A new EventSource cannot send Last-Event-ID, so the client may pass it as a parameter
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+
+        return changeStreamService.subscribe(principal.getUserId(),
+                lastEventId != null ? lastEventId : lastEventIdParam);
+    }
+
+    @PostMapping("/ticket")
+    public ResponseEntity<StreamTicketResponse> ticket(Authentication authentication) {
+        String ticket = streamTicketService.issue((String) authentication.getCredentials());
+        return ResponseEntity.ok(new StreamTicketResponse(ticket));
+    }
+}
@@ -2,13 +2,24 @@ package org.project.backend.hubt.todo_list.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.project.backend.hubt.todo_list.dto.TaskBatchRequest;
+import org.project.backend.hubt.todo_list.dto.TaskBatchResponse;
+import org.project.backend.hubt.todo_list.dto.TaskChangesResponse;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskPageResponse;
 import org.project.backend.hubt.todo_list.dto.TaskRequest;
 import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.dto.TaskStatsResponse;
 import org.project.backend.hubt.todo_list.entity.Task;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
+import org.project.backend.hubt.todo_list.service.TaskSearchService;
 import org.project.backend.hubt.todo_list.service.TaskService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,55 +30,120 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
 
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getAllTasks(
-            Authentication authentication,
-            @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Boolean isCompleted) {
+            @AuthenticationPrincipal JwtPrincipal principal,
+            TaskFilter filter,
+            WebRequest webRequest) {
 
-        List<TaskResponse> tasks = taskService.getAllTasks(
-                authentication.getName(), categoryId, isCompleted);
+        String etag = taskService.getTaskListEtag(principal.getUserId(), filter);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        List<TaskResponse> tasks = taskService.getAllTasks(principal.getUserId(), filter);
+        return withEtag(etag).body(tasks);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<TaskPageResponse> getTasksPage(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            TaskFilter filter,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+
+        String etag = taskService.getTaskListEtag(principal.getUserId(), filter, limit, cursor);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+
+        TaskPageResponse page = taskService.getTasksPage(principal.getUserId(), filter, limit, cursor);
+        return withEtag(etag).body(page);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats(@AuthenticationPrincipal JwtPrincipal principal) {
+        TaskStatsResponse stats = taskService.getStats(principal.getUserId());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<TaskResponse> tasks = taskSearchService.search(principal.getUserId(), q, limit);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) String since) {
+
+        TaskChangesResponse changes = taskService.getChanges(principal.getUserId(), since);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskResponse> getTask(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @PathVariable Long id) {
+
+        TaskResponse task = taskService.getTask(principal.getUserId(), id);
+        return ResponseEntity.ok(task);
+    }
+
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @Valid @RequestBody TaskRequest request) {
 
-        TaskResponse task = taskService.createTask(authentication.getName(), request);
+        TaskResponse task = taskService.createTask(principal.getUserId(), request);
         return ResponseEntity.ok(task);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> executeBatch(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @Valid @RequestBody TaskBatchRequest request) {
+
+        TaskBatchResponse response = taskService.executeBatch(principal.getUserId(), request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id,
             @Valid @RequestBody TaskRequest request) {
 
-        TaskResponse task = taskService.updateTask(authentication.getName(), id, request);
+        TaskResponse task = taskService.updateTask(principal.getUserId(), id, request);
         return ResponseEntity.ok(task);
     }
 
     @PatchMapping("/{id}/toggle")
     public ResponseEntity<TaskResponse> toggleTaskCompletion(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id) {
 
-        TaskResponse task = taskService.toggleTaskCompletion(authentication.getName(), id);
+        TaskResponse task = taskService.toggleTaskCompletion(principal.getUserId(), id);
         return ResponseEntity.ok(task);
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id,
             @RequestParam String status) {
 
         try {
             Task.Status newStatus = Task.Status.valueOf(status.toUpperCase());
-            TaskResponse task = taskService.updateTaskStatus(authentication.getName(), id, newStatus);
+            TaskResponse task = taskService.updateTaskStatus(principal.getUserId(), id, newStatus);
             return ResponseEntity.ok(task);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -76,10 +152,15 @@ public class TaskController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
-            Authentication authentication,
+            @AuthenticationPrincipal JwtPrincipal principal,
             @PathVariable Long id) {
 
-        taskService.deleteTask(authentication.getName(), id);
+        taskService.deleteTask(principal.getUserId(), id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity.BodyBuilder withEtag(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String username;
     private String email;
@@ -15,4 +16,9 @@ public class AuthResponse {
         this.username = username;
         this.email = email;
     }
+
+    public AuthResponse(String token, String refreshToken, String username, String email) {
+        this(token, username, email);
+        this.refreshToken = refreshToken;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package org.project.backend.hubt.todo_list.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class CategoryResponse {
 
     private Long id;
@@ -14,4 +16,18 @@ public class CategoryResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer taskCount;
-}
\ No newline at end of file
+    private Integer openTaskCount;
+
+    public CategoryResponse(Long id, String name, String description, String colorCode,
+                            LocalDateTime createdAt, LocalDateTime updatedAt,
+                            Long taskCount, Long openTaskCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.colorCode = colorCode;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.taskCount = taskCount != null ? taskCount.intValue() : 0;
+        this.openTaskCount = openTaskCount != null ? openTaskCount.intValue() : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    private Entity entity;
+    private Action action;
+    private List<Long> ids;
+
+    public enum Entity {
+        TASK, CATEGORY
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED, BATCH
+    }
+}
@@ -0,0 +1,13 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTicketResponse {
+
+    private String ticket;
+}
@@ -0,0 +1,36 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.project.backend.hubt.todo_list.entity.Task;
+
+import java.util.List;
+
+@Data
+public class TaskBatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "A batch cannot exceed 500 operations")
+    private List<@Valid @NotNull Operation> operations;
+
+    @Data
+    public static class Operation {
+
+        @NotNull(message = "Operation type is required")
+        private Type type;
+
+        private Long id;
+
+        // Validated per operation by TaskService, so one bad payload fails only its own result
+        private TaskRequest task;
+
+        private Task.Status status;
+    }
+
+    public enum Type {
+        CREATE, UPDATE, STATUS, DELETE
+    }
+}
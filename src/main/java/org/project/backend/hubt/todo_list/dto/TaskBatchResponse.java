@@ -0,0 +1,29 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+
+    private List<Result> results;
+    private int succeeded;
+    private int failed;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private TaskBatchRequest.Type type;
+        private Long id;
+        private boolean success;
+        private TaskResponse task;
+        private String error;
+    }
+}
@@ -0,0 +1,19 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+
+    private List<TaskResponse> upserted;
+    private List<Long> deleted;
+    private String syncToken;
+    // When true, upserted holds every task and the client should drop anything not in it
+    private boolean fullResync;
+}
@@ -0,0 +1,89 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.Data;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Data
+public class TaskFilter {
+
+    private Long categoryId;
+    private Boolean isCompleted;
+    private Task.Status status;
+    private Set<Task.Priority> priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    private Boolean overdue;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    private SortField sort = SortField.CREATED_AT;
+    private Direction direction;
+
+    public boolean hasPriority() {
+        return priority != null && !priority.isEmpty();
+    }
+
+    public boolean isOverdueOnly() {
+        return Boolean.TRUE.equals(overdue);
+    }
+
+    public Direction effectiveDirection() {
+        return direction != null ? direction : sort.getDefaultDirection();
+    }
+
+    // Only category/completion lists in the default order go through the task list cache
+    public boolean isCacheable() {
+        return status == null && !hasPriority() && dueFrom == null && dueTo == null && !isOverdueOnly()
+                && createdFrom == null && createdTo == null && updatedFrom == null && updatedTo == null
+                && sort == SortField.CREATED_AT && effectiveDirection() == Direction.DESC;
+    }
+
+    // Stable across nodes (enum hash codes are not), so it can feed the ETag
+    public String canonicalKey() {
+        String priorities = hasPriority()
+                ? priority.stream().map(Enum::name).sorted().collect(Collectors.joining(","))
+                : null;
+        return categoryId + "|" + isCompleted + "|" + status + "|" + priorities + "|"
+                + dueFrom + "|" + dueTo + "|" + isOverdueOnly() + "|"
+                + createdFrom + "|" + createdTo + "|" + updatedFrom + "|" + updatedTo + "|"
+                + sort + "|" + effectiveDirection();
+    }
+
+    public enum SortField {
+        CREATED_AT(Direction.DESC), DUE_DATE(Direction.ASC), PRIORITY(Direction.DESC);
+
+        private final Direction defaultDirection;
+
+        SortField(Direction defaultDirection) {
+            this.defaultDirection = defaultDirection;
+        }
+
+        public Direction getDefaultDirection() {
+            return defaultDirection;
+        }
+    }
+
+    public enum Direction {
+        ASC, DESC
+    }
+}
@@ -1,11 +1,13 @@
 package org.project.backend.hubt.todo_list.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.project.backend.hubt.todo_list.entity.Task;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class TaskResponse {
 
     private Long id;
@@ -20,6 +22,29 @@ public class TaskResponse {
     private LocalDateTime updatedAt;
     private CategoryResponse category;
 
+    public TaskResponse(Long id, String title, String description, Boolean isCompleted,
+                        Task.Status status, Task.Priority priority, LocalDateTime dueDate,
+                        LocalDateTime completedAt, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long categoryId, String categoryName, String categoryColorCode) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.isCompleted = isCompleted;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.completedAt = completedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        if (categoryId != null) {
+            this.category = new CategoryResponse();
+            this.category.setId(categoryId);
+            this.category.setName(categoryName);
+            this.category.setColorCode(categoryColorCode);
+        }
+    }
+
     @Data
     public static class CategoryResponse {
         private Long id;
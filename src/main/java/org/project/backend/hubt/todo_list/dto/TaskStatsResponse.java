@@ -0,0 +1,21 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+public class TaskStatsResponse {
+
+    private long total;
+    private long overdue;
+    // Set when overdue stopped counting at app.stats.overdue-cap
+    private boolean overdueCapped;
+    private Map<String, Long> byStatus = new TreeMap<>();
+    private Map<String, Long> byPriority = new TreeMap<>();
+    // Keyed by category id, "NONE" for uncategorised tasks
+    private Map<String, Long> byCategory = new TreeMap<>();
+    // Keyed by yyyy-MM-dd of completedAt
+    private Map<String, Long> completionsPerDay = new TreeMap<>();
+}
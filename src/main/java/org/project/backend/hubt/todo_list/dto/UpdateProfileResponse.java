@@ -0,0 +1,15 @@
+package org.project.backend.hubt.todo_list.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateProfileResponse {
+
+    private String message;
+    // Set when the username changed: tokens carry the username, so the old session is replaced
+    private AuthResponse session;
+}
@@ -18,8 +18,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Task {
 
+    // Pooled table generator: ids are handed out in blocks so inserts can be JDBC-batched. Each
+    // new block is fetched on a second pooled connection; see the Hikari settings for the sizing.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id_generator")
+    @TableGenerator(name = "task_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "tasks", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Task title is required")
@@ -43,6 +48,10 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    // The dueDate the last reminder went out for; moving dueDate re-arms the reminder
+    @Column(name = "reminded_due_date")
+    private LocalDateTime remindedDueDate;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
@@ -0,0 +1,46 @@
+package org.project.backend.hubt.todo_list.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "task_stats")
+@IdClass(TaskStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStat {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "dim_key", length = 32)
+    private String dimKey;
+
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount;
+
+    public enum Dimension {
+        TOTAL, STATUS, PRIORITY, CATEGORY, COMPLETED_DAY
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Dimension dimension;
+        private String dimKey;
+    }
+}
@@ -1,15 +1,59 @@
 package org.project.backend.hubt.todo_list.repository;
 
+import org.project.backend.hubt.todo_list.dto.CategoryResponse;
 import org.project.backend.hubt.todo_list.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     List<Category> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    String CATEGORY_RESPONSE_SELECT = "SELECT new org.project.backend.hubt.todo_list.dto.CategoryResponse(" +
+            "c.id, c.name, c.description, c.colorCode, c.createdAt, c.updatedAt, COUNT(t.id), " +
+            "SUM(CASE WHEN t.id IS NOT NULL AND (t.isCompleted = false OR t.isCompleted IS NULL) THEN 1 ELSE 0 END)) " +
+            "FROM Category c LEFT JOIN c.tasks t ";
+
+    String CATEGORY_RESPONSE_GROUP_BY = "GROUP BY c.id, c.name, c.description, c.colorCode, c.createdAt, c.updatedAt ";
+
+    @Query(CATEGORY_RESPONSE_SELECT + "WHERE c.user.id = :userId " +
+           CATEGORY_RESPONSE_GROUP_BY + "ORDER BY c.createdAt DESC")
+    List<CategoryResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(CATEGORY_RESPONSE_SELECT + "WHERE c.id = :id AND c.user.id = :userId " + CATEGORY_RESPONSE_GROUP_BY)
+    Optional<CategoryResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
     boolean existsByNameAndUserId(String name, Long userId);
+
+    boolean existsByNameAndUserIdAndIdNot(String name, Long userId, Long id);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    List<Category> findByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Modifying
+    @Query("UPDATE Category c SET c.name = :name, c.description = :description, " +
+           "c.colorCode = :colorCode, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.user.id = :userId")
+    int updateByIdAndUserId(@Param("id") Long id,
+                            @Param("userId") Long userId,
+                            @Param("name") String name,
+                            @Param("description") String description,
+                            @Param("colorCode") String colorCode,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.project.backend.hubt.todo_list.entity.EmailOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") EmailOutbox.Status status,
+                          @Param("now") LocalDateTime now,
+                          Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :claimed, e.lockedBy = :owner, e.lockedAt = :now " +
+           "WHERE e.id IN :ids AND e.status = :pending")
+    int claim(@Param("ids") List<Long> ids,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("pending") EmailOutbox.Status pending,
+              @Param("claimed") EmailOutbox.Status claimed);
+
+    List<EmailOutbox> findByLockedByAndStatus(String lockedBy, EmailOutbox.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :pending, e.lockedBy = NULL, e.lockedAt = NULL " +
+           "WHERE e.status = :claimed AND e.lockedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff,
+                     @Param("pending") EmailOutbox.Status pending,
+                     @Param("claimed") EmailOutbox.Status claimed);
+
+    long countByStatus(EmailOutbox.Status status);
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = :status AND e.sentAt < :cutoff")
+    List<Long> findIdsSentBefore(@Param("status") EmailOutbox.Status status,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
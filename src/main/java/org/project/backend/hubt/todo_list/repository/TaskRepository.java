@@ -1,15 +1,24 @@
 package org.project.backend.hubt.todo_list.repository;
 
+import jakarta.persistence.LockModeType;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.entity.Category;
 import org.project.backend.hubt.todo_list.entity.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     List<Task> findByUserIdOrderByCreatedAtDesc(Long userId);
 
@@ -17,11 +26,109 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findByUserIdAndCategoryIdOrderByCreatedAtDesc(Long userId, Long categoryId);
 
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND " +
-           "(:categoryId IS NULL OR t.category.id = :categoryId) AND " +
-           "(:isCompleted IS NULL OR t.isCompleted = :isCompleted) " +
-           "ORDER BY t.createdAt DESC")
-    List<Task> findTasksWithFilters(@Param("userId") Long userId,
-                                  @Param("categoryId") Long categoryId,
-                                  @Param("isCompleted") Boolean isCompleted);
-}
\ No newline at end of file
+    String TASK_RESPONSE_SELECT = "SELECT new org.project.backend.hubt.todo_list.dto.TaskResponse(" +
+            "t.id, t.title, t.description, t.isCompleted, t.status, t.priority, t.dueDate, " +
+            "t.completedAt, t.createdAt, t.updatedAt, c.id, c.name, c.colorCode) " +
+            "FROM Task t LEFT JOIN t.category c ";
+
+    @Query(TASK_RESPONSE_SELECT + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TaskResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.id = :userId AND t.updatedAt >= :since " +
+           "ORDER BY t.updatedAt, t.id")
+    List<TaskResponse> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    @Query(TASK_RESPONSE_SELECT + "WHERE t.id IN :ids AND t.user.id = :userId")
+    List<TaskResponse> findResponsesByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT t.id, t.title, t.description FROM Task t WHERE t.user.id = :userId ORDER BY t.id")
+    List<Object[]> findSearchDocuments(@Param("userId") Long userId);
+
+    @Query("SELECT t.id, t.title, t.description FROM Task t WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Object[]> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Stops after :cap rows of the idx_tasks_user_completed_due range, so a user with a long
+    // overdue backlog costs the same as one with :cap overdue tasks
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM tasks " +
+                   "WHERE user_id = :userId AND is_completed = FALSE AND due_date < :now LIMIT :cap) overdue",
+           nativeQuery = true)
+    long countOverdue(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("cap") int cap);
+
+    // Reminder sweep over idx_tasks_due_completed, keyset-paged on (dueDate, id)
+    @Query("SELECT t.id, t.dueDate FROM Task t " +
+           "WHERE t.dueDate >= :afterDue AND t.dueDate < :to AND t.isCompleted = false " +
+           "AND (t.dueDate > :afterDue OR t.id > :afterId) " +
+           "AND (t.remindedDueDate IS NULL OR t.remindedDueDate <> t.dueDate) " +
+           "ORDER BY t.dueDate, t.id")
+    List<Object[]> findPendingReminders(@Param("afterDue") LocalDateTime afterDue,
+                                        @Param("afterId") Long afterId,
+                                        @Param("to") LocalDateTime to,
+                                        Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids")
+    List<Task> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Bulk update, so updatedAt is left alone and reminders do not show up in the change feed
+    @Modifying
+    @Query("UPDATE Task t SET t.remindedDueDate = t.dueDate WHERE t.id IN :ids")
+    int markReminded(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.category WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Task> findAllByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.priority = :priority, " +
+           "t.status = :status, t.dueDate = :dueDate, t.isCompleted = :isCompleted, " +
+           "t.completedAt = :completedAt, t.category = :category, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int updateByIdAndUserId(@Param("id") Long id,
+                            @Param("userId") Long userId,
+                            @Param("title") String title,
+                            @Param("description") String description,
+                            @Param("priority") Task.Priority priority,
+                            @Param("status") Task.Status status,
+                            @Param("dueDate") LocalDateTime dueDate,
+                            @Param("isCompleted") Boolean isCompleted,
+                            @Param("completedAt") LocalDateTime completedAt,
+                            @Param("category") Category category,
+                            @Param("now") LocalDateTime now);
+
+    // completedAt is assigned first: MySQL evaluates single-table SET clauses left to right
+    @Modifying
+    @Query("UPDATE Task t SET " +
+           "t.completedAt = CASE WHEN t.isCompleted = true THEN NULL ELSE :now END, " +
+           "t.isCompleted = CASE WHEN t.isCompleted = true THEN false ELSE true END, " +
+           "t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int toggleCompletionByIdAndUserId(@Param("id") Long id,
+                                      @Param("userId") Long userId,
+                                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.isCompleted = :isCompleted, " +
+           "t.completedAt = :completedAt, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.user.id = :userId")
+    int updateStatusByIdAndUserId(@Param("id") Long id,
+                                  @Param("userId") Long userId,
+                                  @Param("status") Task.Status status,
+                                  @Param("isCompleted") Boolean isCompleted,
+                                  @Param("completedAt") LocalDateTime completedAt,
+                                  @Param("now") LocalDateTime now);
+
+    // Category renames change the embedded category name, so the tasks must show up in the change feed
+    @Modifying
+    @Query("UPDATE Task t SET t.updatedAt = :now WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int touchByCategoryIdAndUserId(@Param("categoryId") Long categoryId,
+                                   @Param("userId") Long userId,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int deleteByCategoryIdAndUserId(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
+}
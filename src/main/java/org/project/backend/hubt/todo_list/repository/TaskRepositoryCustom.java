@@ -0,0 +1,16 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    List<TaskResponse> findTasks(Long userId, TaskFilter filter);
+
+    // Keyset page in createdAt/id order; afterCreatedAt and afterId are both null for the first page
+    List<TaskResponse> findTasksPage(Long userId, TaskFilter filter,
+                                     LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,149 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// Emits only the predicates a filter actually supplies, so each filter shape gets its own
+// statement and MySQL can pick the index matching it instead of planning around
+// (:x IS NULL OR ...) guards. The JPQL per shape is built once; Hibernate's query plan
+// cache is keyed by the same string, so repeat shapes skip parsing entirely.
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String PRIORITY_ENUM = "org.project.backend.hubt.todo_list.entity.Task.Priority.";
+    // Priority is stored as its name, so the column order is alphabetical rather than by urgency
+    private static final String PRIORITY_RANK = "CASE t.priority WHEN " + PRIORITY_ENUM + "URGENT THEN 4 " +
+            "WHEN " + PRIORITY_ENUM + "HIGH THEN 3 WHEN " + PRIORITY_ENUM + "MEDIUM THEN 2 ELSE 1 END";
+
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findTasks(Long userId, TaskFilter filter) {
+        return query(userId, filter, null, null, 0);
+    }
+
+    @Override
+    public List<TaskResponse> findTasksPage(Long userId, TaskFilter filter,
+                                            LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return query(userId, filter, afterCreatedAt, afterId, limit);
+    }
+
+    private List<TaskResponse> query(Long userId, TaskFilter filter,
+                                     LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        boolean keyset = afterCreatedAt != null && afterId != null;
+        int shape = shapeOf(filter);
+        String key = shape + ":" + filter.getSort() + ":" + filter.effectiveDirection() + ":" + keyset;
+        String jpql = queries.computeIfAbsent(key, k -> buildQuery(shape, filter, keyset));
+
+        TypedQuery<TaskResponse> query = entityManager.createQuery(jpql, TaskResponse.class)
+                .setParameter("userId", userId);
+        LocalDateTime now = LocalDateTime.now();
+        for (Criterion criterion : Criterion.values()) {
+            if ((shape & criterion.bit()) != 0) {
+                criterion.bind(query, filter, now);
+            }
+        }
+        if (keyset) {
+            query.setParameter("afterCreatedAt", afterCreatedAt).setParameter("afterId", afterId);
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private static int shapeOf(TaskFilter filter) {
+        int shape = 0;
+        for (Criterion criterion : Criterion.values()) {
+            if (criterion.present.test(filter)) {
+                shape |= criterion.bit();
+            }
+        }
+        return shape;
+    }
+
+    private static String buildQuery(int shape, TaskFilter filter, boolean keyset) {
+        StringBuilder jpql = new StringBuilder(TaskRepository.TASK_RESPONSE_SELECT)
+                .append("WHERE t.user.id = :userId");
+        for (Criterion criterion : Criterion.values()) {
+            if ((shape & criterion.bit()) != 0) {
+                jpql.append(" AND ").append(criterion.clause);
+            }
+        }
+
+        boolean ascending = filter.effectiveDirection() == TaskFilter.Direction.ASC;
+        if (keyset) {
+            String op = ascending ? ">" : "<";
+            jpql.append(" AND (t.createdAt ").append(op).append(" :afterCreatedAt OR ")
+                    .append("(t.createdAt = :afterCreatedAt AND t.id ").append(op).append(" :afterId))");
+        }
+
+        String direction = ascending ? " ASC" : " DESC";
+        jpql.append(" ORDER BY ");
+        switch (filter.getSort()) {
+            case DUE_DATE -> jpql.append("t.dueDate").append(direction).append(", t.id").append(direction);
+            case PRIORITY -> jpql.append(PRIORITY_RANK).append(direction).append(", t.createdAt DESC, t.id DESC");
+            default -> jpql.append("t.createdAt").append(direction).append(", t.id").append(direction);
+        }
+        return jpql.toString();
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(TypedQuery<?> query, TaskFilter filter, LocalDateTime now);
+    }
+
+    private enum Criterion {
+        CATEGORY("t.category.id = :categoryId", f -> f.getCategoryId() != null,
+                (q, f, now) -> q.setParameter("categoryId", f.getCategoryId())),
+        COMPLETED("t.isCompleted = :isCompleted", f -> f.getIsCompleted() != null,
+                (q, f, now) -> q.setParameter("isCompleted", f.getIsCompleted())),
+        STATUS("t.status = :status", f -> f.getStatus() != null,
+                (q, f, now) -> q.setParameter("status", f.getStatus())),
+        PRIORITY("t.priority IN :priorities", TaskFilter::hasPriority,
+                (q, f, now) -> q.setParameter("priorities", f.getPriority())),
+        DUE_FROM("t.dueDate >= :dueFrom", f -> f.getDueFrom() != null,
+                (q, f, now) -> q.setParameter("dueFrom", f.getDueFrom())),
+        DUE_TO("t.dueDate < :dueTo", f -> f.getDueTo() != null,
+                (q, f, now) -> q.setParameter("dueTo", f.getDueTo())),
+        OVERDUE("t.isCompleted = false AND t.dueDate < :now", TaskFilter::isOverdueOnly,
+                (q, f, now) -> q.setParameter("now", now)),
+        CREATED_FROM("t.createdAt >= :createdFrom", f -> f.getCreatedFrom() != null,
+                (q, f, now) -> q.setParameter("createdFrom", f.getCreatedFrom())),
+        CREATED_TO("t.createdAt < :createdTo", f -> f.getCreatedTo() != null,
+                (q, f, now) -> q.setParameter("createdTo", f.getCreatedTo())),
+        UPDATED_FROM("t.updatedAt >= :updatedFrom", f -> f.getUpdatedFrom() != null,
+                (q, f, now) -> q.setParameter("updatedFrom", f.getUpdatedFrom())),
+        UPDATED_TO("t.updatedAt < :updatedTo", f -> f.getUpdatedTo() != null,
+                (q, f, now) -> q.setParameter("updatedTo", f.getUpdatedTo()));
+
+        private final String clause;
+        private final Predicate<TaskFilter> present;
+        private final Binder binder;
+
+        Criterion(String clause, Predicate<TaskFilter> present, Binder binder) {
+            this.clause = clause;
+            this.present = present;
+            this.binder = binder;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        void bind(TypedQuery<?> query, TaskFilter filter, LocalDateTime now) {
+            binder.bind(query, filter, now);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.project.backend.hubt.todo_list.entity.TaskStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskStatRepository extends JpaRepository<TaskStat, TaskStat.Key> {
+
+    @Query("SELECT s FROM TaskStat s WHERE s.userId = :userId AND s.taskCount <> 0 AND " +
+           "(s.dimension <> org.project.backend.hubt.todo_list.entity.TaskStat.Dimension.COMPLETED_DAY " +
+           "OR s.dimKey >= :fromDay)")
+    List<TaskStat> findForDashboard(@Param("userId") Long userId, @Param("fromDay") String fromDay);
+
+    @Modifying
+    @Query("DELETE FROM TaskStat s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Completion days before :completedFrom are left out, so the nightly rebuild also prunes the
+    // COMPLETED_DAY rows that have aged out of the dashboard window
+    @Modifying
+    @Query(value = "INSERT INTO task_stats (user_id, dimension, dim_key, task_count) " +
+                   "SELECT user_id, 'TOTAL', 'ALL', COUNT(*) FROM tasks WHERE user_id = :userId GROUP BY user_id " +
+                   "UNION ALL " +
+                   "SELECT user_id, 'STATUS', COALESCE(status, 'NONE'), COUNT(*) FROM tasks " +
+                   "WHERE user_id = :userId GROUP BY user_id, status " +
+                   "UNION ALL " +
+                   "SELECT user_id, 'PRIORITY', COALESCE(priority, 'NONE'), COUNT(*) FROM tasks " +
+                   "WHERE user_id = :userId GROUP BY user_id, priority " +
+                   "UNION ALL " +
+                   "SELECT user_id, 'CATEGORY', COALESCE(CAST(category_id AS CHAR), 'NONE'), COUNT(*) FROM tasks " +
+                   "WHERE user_id = :userId GROUP BY user_id, category_id " +
+                   "UNION ALL " +
+                   "SELECT user_id, 'COMPLETED_DAY', CAST(CAST(completed_at AS DATE) AS CHAR(10)), COUNT(*) FROM tasks " +
+                   "WHERE user_id = :userId AND is_completed = TRUE AND completed_at >= :completedFrom " +
+                   "GROUP BY user_id, CAST(CAST(completed_at AS DATE) AS CHAR(10))",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId, @Param("completedFrom") LocalDateTime completedFrom);
+}
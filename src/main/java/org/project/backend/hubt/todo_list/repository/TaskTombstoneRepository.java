@@ -0,0 +1,44 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.project.backend.hubt.todo_list.entity.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, deletedAt) " +
+           "SELECT t.id, t.user.id, :now FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    int insertForTask(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, deletedAt) " +
+           "SELECT t.id, t.user.id, :now FROM Task t WHERE t.id IN :ids AND t.user.id = :userId")
+    int insertForTasks(@Param("ids") Collection<Long> ids,
+                       @Param("userId") Long userId,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("INSERT INTO TaskTombstone (taskId, userId, deletedAt) " +
+           "SELECT t.id, t.user.id, :now FROM Task t WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int insertForCategory(@Param("categoryId") Long categoryId,
+                          @Param("userId") Long userId,
+                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT tt.taskId FROM TaskTombstone tt WHERE tt.userId = :userId AND tt.deletedAt >= :since")
+    List<Long> findTaskIdsDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tt WHERE tt.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
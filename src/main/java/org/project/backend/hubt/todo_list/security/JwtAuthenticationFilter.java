@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.project.backend.hubt.todo_list.service.RedisService;
+import org.project.backend.hubt.todo_list.service.StreamTicketService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,13 +16,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/stream";
+
     private final JwtUtil jwtUtil;
     private final RedisService redisService;
+    private final StreamTicketService streamTicketService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,12 +35,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (token != null && jwtUtil.validateToken(token)) {
-            String username = jwtUtil.getUsernameFromToken(token);
+        if (token != null) {
+            Optional<JwtPrincipal> principal = jwtUtil.verifyAccessToken(token);
 
-            if (redisService.isJwtTokenValid(username, token)) {
+            if (principal.isPresent() && redisService.isJwtTokenValid(principal.get().getUsername(), token)) {
+                // The token is kept as the credentials so StreamController can issue stream tickets for it
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
+                        new UsernamePasswordAuthenticationToken(principal.get(), token, new ArrayList<>());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -50,6 +56,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the stream endpoint takes a single-use ticket instead
+        if (STREAM_PATH.equals(request.getServletPath())) {
+            String ticket = request.getParameter("ticket");
+            if (StringUtils.hasText(ticket)) {
+                return streamTicketService.redeem(ticket);
+            }
+        }
         return null;
     }
 }
\ No newline at end of file
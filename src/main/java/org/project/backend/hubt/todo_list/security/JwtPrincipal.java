@@ -0,0 +1,26 @@
+package org.project.backend.hubt.todo_list.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+import java.time.Instant;
+
+@Getter
+@RequiredArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final Long userId;
+    private final String username;
+    private final String sessionId;
+    private final Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -5,14 +5,24 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String SESSION_ID_CLAIM = "sid";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${app.jwt.secret:todoSecretKey}")
     private String jwtSecret;
 
@@ -22,54 +32,79 @@ public class JwtUtil {
     @Value("${app.jwt.refresh-expiration:2592000000}")
     private Long refreshExpiration;
 
-    public String generateToken(String username) {
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(jwtSecret);
+        verifier = JWT.require(algorithm).build();
+    }
+
+    public String generateToken(Long userId, String username, String sessionId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpiration);
 
         return JWT.create()
                 .withSubject(username)
+                .withClaim(USER_ID_CLAIM, userId)
+                .withClaim(SESSION_ID_CLAIM, sessionId)
                 .withIssuedAt(new Date())
                 .withExpiresAt(expiryDate)
-                .sign(Algorithm.HMAC256(jwtSecret));
+                .sign(algorithm);
     }
 
-    public String getUsernameFromToken(String token) {
+    public Optional<JwtPrincipal> verifyAccessToken(String token) {
+        JwtPrincipal cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(jwtSecret)).build();
             DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT.getSubject();
+            if (isRefresh(decodedJWT) || decodedJWT.getClaim(USER_ID_CLAIM).isMissing()) {
+                return Optional.empty();
+            }
+
+            JwtPrincipal principal = toPrincipal(decodedJWT);
+            verifiedTokenCache.put(token, principal);
+            return Optional.of(principal);
         } catch (JWTVerificationException e) {
-            throw new RuntimeException("Invalid JWT token", e);
+            return Optional.empty();
         }
     }
 
-    public String generateRefreshToken(String username) {
+    public String generateRefreshToken(Long userId, String username, String sessionId) {
         Date expiryDate = new Date(System.currentTimeMillis() + refreshExpiration);
 
         return JWT.create()
                 .withSubject(username)
+                .withClaim(USER_ID_CLAIM, userId)
+                .withClaim(SESSION_ID_CLAIM, sessionId)
                 .withIssuedAt(new Date())
                 .withExpiresAt(expiryDate)
                 .withClaim("type", "refresh")
-                .sign(Algorithm.HMAC256(jwtSecret));
+                .withJWTId(UUID.randomUUID().toString())
+                .sign(algorithm);
     }
 
-    public boolean validateToken(String token) {
+    public Optional<JwtPrincipal> verifyRefreshToken(String token) {
         try {
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(jwtSecret)).build();
-            verifier.verify(token);
-            return true;
+            DecodedJWT decodedJWT = verifier.verify(token);
+            if (!isRefresh(decodedJWT)) {
+                return Optional.empty();
+            }
+            return Optional.of(toPrincipal(decodedJWT));
         } catch (JWTVerificationException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    public boolean isRefreshToken(String token) {
-        try {
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(jwtSecret)).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return "refresh".equals(decodedJWT.getClaim("type").asString());
-        } catch (JWTVerificationException e) {
-            return false;
-        }
+    private boolean isRefresh(DecodedJWT decodedJWT) {
+        return "refresh".equals(decodedJWT.getClaim("type").asString());
+    }
+
+    private JwtPrincipal toPrincipal(DecodedJWT decodedJWT) {
+        return new JwtPrincipal(decodedJWT.getClaim(USER_ID_CLAIM).asLong(), decodedJWT.getSubject(),
+                decodedJWT.getClaim(SESSION_ID_CLAIM).asString(), decodedJWT.getExpiresAtAsInstant());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package org.project.backend.hubt.todo_list.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Caches signature checks only. Revocation is enforced by the Redis session compare that
+// follows every lookup, so entries never need to be evicted per user.
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Map<String, JwtPrincipal> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private int maxSize;
+
+    public JwtPrincipal get(String token) {
+        String key = digest(token);
+        JwtPrincipal principal = entries.get(key);
+        if (principal == null) {
+            return null;
+        }
+        if (principal.isExpired()) {
+            entries.remove(key, principal);
+            return null;
+        }
+        return principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (entries.size() >= maxSize) {
+            evictToFit();
+        }
+        entries.put(digest(token), principal);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictToFit() {
+        entries.values().removeIf(JwtPrincipal::isExpired);
+
+        // Still full of live tokens: drop an arbitrary tenth rather than growing unbounded
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.debug("Verified token cache trimmed to {} entries", entries.size());
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -7,19 +7,23 @@ import org.project.backend.hubt.todo_list.exception.EmailException;
 import org.project.backend.hubt.todo_list.exception.PasswordException;
 import org.project.backend.hubt.todo_list.exception.UserException;
 import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.project.backend.hubt.todo_list.security.JwtPrincipal;
 import org.project.backend.hubt.todo_list.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final OtpService otpService;
     private final RedisService redisService;
+    private final TransactionTemplate transactionTemplate;
 
     public String register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -30,24 +34,27 @@ public class AuthService {
             throw new EmailException("Email already exists");
         }
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setIsActive(false);
-        user.setIsVerified(false);
+        // Hashed before the transaction opens, so bcrypt never holds a pooled connection
+        String passwordHash = passwordHashingService.encode(request.getPassword());
 
-        User savedUser = userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(passwordHash);
+            user.setIsActive(false);
+            user.setIsVerified(false);
 
-        otpService.sendVerificationOtp(savedUser.getEmail(), savedUser.getUsername());
+            User savedUser = userRepository.save(user);
+
+            otpService.sendVerificationOtp(savedUser.getEmail(), savedUser.getUsername());
+        });
 
         return "Registration successful. Please check your email for verification code.";
     }
 
     public AuthResponse verifyAccount(VerifyOtpRequest request) {
-        if (!otpService.verifyOtp(request.getEmail(), request.getOtp(), OtpService.OtpType.VERIFICATION)) {
-            throw new UserException("Invalid or expired OTP");
-        }
+        requireValidOtp(request.getEmail(), request.getOtp(), OtpService.OtpType.VERIFICATION);
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UserException("User not found"));
@@ -56,23 +63,15 @@ public class AuthService {
         user.setIsActive(true);
         User savedUser = userRepository.save(user);
 
-        String token = jwtUtil.generateToken(savedUser.getUsername());
-        String refreshToken = jwtUtil.generateRefreshToken(savedUser.getUsername());
-        redisService.storeJwtToken(savedUser.getUsername(), token);
-        redisService.storeRefreshToken(savedUser.getUsername(), refreshToken);
-
-        return new AuthResponse(token, savedUser.getUsername(), savedUser.getEmail());
+        return issueSession(savedUser);
     }
 
     public AuthResponse login(AuthRequest request) {
-        User user = userRepository.findByUsername(request.getUsernameOrEmail())
-                .orElse(userRepository.findByEmail(request.getUsernameOrEmail())
-                        .orElseThrow(() -> new UserException("User not found")));
-
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new PasswordException("Invalid password");
-        }
+        User user = userRepository.findByUsernameOrEmail(request.getUsernameOrEmail()).stream()
+                .findFirst()
+                .orElseThrow(() -> new UserException("User not found"));
 
+        // Checked before bcrypt, so a disabled or unverified account costs no hashing work
         if (!user.getIsActive()) {
             throw new UserException("Account is disabled");
         }
@@ -81,12 +80,53 @@ public class AuthService {
             throw new UserException("Account not verified. Please check your email for verification code.");
         }
 
-        String token = jwtUtil.generateToken(user.getUsername());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
-        redisService.storeJwtToken(user.getUsername(), token);
-        redisService.storeRefreshToken(user.getUsername(), refreshToken);
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new PasswordException("Invalid password");
+        }
+
+        AuthResponse response = issueSession(user);
+
+        // Only a login that went through upgrades the stored hash
+        String currentHash = user.getPassword();
+        passwordHashingService.rehashIfNeeded(request.getPassword(), currentHash,
+                newHash -> userRepository.updatePasswordIfUnchanged(user.getId(), currentHash, newHash));
+
+        return response;
+    }
+
+    public AuthResponse issueSession(User user) {
+        String sessionId = UUID.randomUUID().toString();
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), sessionId);
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getUsername(), sessionId);
+        redisService.storeSession(user.getUsername(), sessionId, token, refreshToken);
+
+        return new AuthResponse(token, refreshToken, user.getUsername(), user.getEmail());
+    }
+
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        JwtPrincipal principal = jwtUtil.verifyRefreshToken(request.getRefreshToken())
+                .orElseThrow(() -> new UserException("Invalid or expired refresh token"));
+
+        User user = userRepository.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new UserException("User not found"));
+
+        if (!user.getIsActive()) {
+            throw new UserException("Account is disabled");
+        }
+
+        String sessionId = principal.getSessionId() != null ? principal.getSessionId() : UUID.randomUUID().toString();
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), sessionId);
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId(), user.getUsername(), sessionId);
+
+        switch (redisService.rotateSession(user.getId(), user.getUsername(), request.getRefreshToken(),
+                principal.getSessionId(), sessionId, token, refreshToken)) {
+            case REUSED -> throw new UserException("Refresh token has already been used. Please login again.");
+            case INVALID -> throw new UserException("Invalid or expired refresh token");
+            default -> {
+            }
+        }
 
-        return new AuthResponse(token, user.getUsername(), user.getEmail());
+        return new AuthResponse(token, refreshToken, user.getUsername(), user.getEmail());
     }
 
     public String forgotPassword(ForgotPasswordRequest request) {
@@ -103,23 +143,21 @@ public class AuthService {
     }
 
     public String resetPassword(ResetPasswordRequest request) {
-        if (!otpService.verifyOtp(request.getEmail(), request.getOtp(), OtpService.OtpType.PASSWORD_RESET)) {
-            throw new UserException("Invalid or expired OTP");
-        }
+        requireValidOtp(request.getEmail(), request.getOtp(), OtpService.OtpType.PASSWORD_RESET);
 
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UserException("User not found"));
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
 
-        redisService.logoutUser(user.getUsername());
+        redisService.logoutUser(user.getId(), user.getUsername());
 
         return "Password reset successfully. Please login with your new password.";
     }
 
-    public void logout(String username) {
-        redisService.logoutUser(username);
+    public void logout(Long userId, String username) {
+        redisService.logoutUser(userId, username);
     }
 
     public String resendVerificationOtp(String email) {
@@ -133,4 +171,13 @@ public class AuthService {
         otpService.sendVerificationOtp(user.getEmail(), user.getUsername());
         return "Verification code resent to your email.";
     }
+
+    private void requireValidOtp(String email, String otp, OtpService.OtpType type) {
+        switch (otpService.verifyOtp(email, otp, type)) {
+            case VERIFIED -> {
+            }
+            case TOO_MANY_ATTEMPTS -> throw new UserException("Too many incorrect attempts. Please request a new code.");
+            default -> throw new UserException("Invalid or expired OTP");
+        }
+    }
 }
\ No newline at end of file
@@ -3,15 +3,19 @@ package org.project.backend.hubt.todo_list.service;
 import lombok.RequiredArgsConstructor;
 import org.project.backend.hubt.todo_list.dto.CategoryRequest;
 import org.project.backend.hubt.todo_list.dto.CategoryResponse;
+import org.project.backend.hubt.todo_list.dto.ChangeEvent;
 import org.project.backend.hubt.todo_list.entity.Category;
-import org.project.backend.hubt.todo_list.entity.User;
+import org.project.backend.hubt.todo_list.exception.ResourceNotFoundException;
 import org.project.backend.hubt.todo_list.exception.UserException;
 import org.project.backend.hubt.todo_list.repository.CategoryRepository;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
 import org.project.backend.hubt.todo_list.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,21 +23,22 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
-
-    public List<CategoryResponse> getAllCategories(String username) {
-        User user = getUserByUsername(username);
-
-        List<Category> categories = categoryRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
-
-        return categories.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListCache taskListCache;
+    private final ChangeStreamService changeStreamService;
+    private final TaskStatsService taskStatsService;
+
+    public List<CategoryResponse> getAllCategories(Long userId) {
+        return categoryRepository.findResponsesByUserId(userId);
     }
 
-    public CategoryResponse createCategory(String username, CategoryRequest request) {
-        User user = getUserByUsername(username);
+    public String getCategoryListEtag(Long userId) {
+        return taskListCache.etag(userId, "categories");
+    }
 
-        if (categoryRepository.existsByNameAndUserId(request.getName(), user.getId())) {
+    public CategoryResponse createCategory(Long userId, CategoryRequest request) {
+        if (categoryRepository.existsByNameAndUserId(request.getName(), userId)) {
             throw new UserException("Category name already exists");
         }
 
@@ -41,51 +46,45 @@ public class CategoryService {
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setColorCode(request.getColorCode());
-        category.setUser(user);
+        category.setUser(userRepository.getReferenceById(userId));
 
         Category savedCategory = categoryRepository.save(category);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.CATEGORY, ChangeEvent.Action.CREATED, List.of(savedCategory.getId()));
         return convertToResponse(savedCategory);
     }
 
-    public CategoryResponse updateCategory(String username, Long categoryId, CategoryRequest request) {
-        User user = getUserByUsername(username);
-
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new UserException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new UserException("Category does not belong to user");
-        }
-
-        if (!category.getName().equals(request.getName()) &&
-            categoryRepository.existsByNameAndUserId(request.getName(), user.getId())) {
+    @Transactional
+    public CategoryResponse updateCategory(Long userId, Long categoryId, CategoryRequest request) {
+        if (categoryRepository.existsByNameAndUserIdAndIdNot(request.getName(), userId, categoryId)) {
             throw new UserException("Category name already exists");
         }
 
-        category.setName(request.getName());
-        category.setDescription(request.getDescription());
-        category.setColorCode(request.getColorCode());
-
-        Category savedCategory = categoryRepository.save(category);
-        return convertToResponse(savedCategory);
-    }
-
-    public void deleteCategory(String username, Long categoryId) {
-        User user = getUserByUsername(username);
-
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new UserException("Category not found"));
-
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new UserException("Category does not belong to user");
+        LocalDateTime now = LocalDateTime.now();
+        int updated = categoryRepository.updateByIdAndUserId(categoryId, userId,
+                request.getName(), request.getDescription(), request.getColorCode(), now);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Category not found");
         }
+        taskRepository.touchByCategoryIdAndUserId(categoryId, userId, now);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.CATEGORY, ChangeEvent.Action.UPDATED, List.of(categoryId));
 
-        categoryRepository.delete(category);
+        return categoryRepository.findResponseByIdAndUserId(categoryId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserException("User not found"));
+    @Transactional
+    public void deleteCategory(Long userId, Long categoryId) {
+        taskTombstoneRepository.insertForCategory(categoryId, userId, LocalDateTime.now());
+        taskRepository.deleteByCategoryIdAndUserId(categoryId, userId);
+        if (categoryRepository.deleteByIdAndUserId(categoryId, userId) == 0) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        // The cascade removes tasks in bulk, so recount this user's rollups instead of diffing them
+        taskStatsService.rebuild(userId);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.CATEGORY, ChangeEvent.Action.DELETED, List.of(categoryId));
     }
 
     private CategoryResponse convertToResponse(Category category) {
@@ -96,7 +95,9 @@ public class CategoryService {
         response.setColorCode(category.getColorCode());
         response.setCreatedAt(category.getCreatedAt());
         response.setUpdatedAt(category.getUpdatedAt());
-        response.setTaskCount(0); // Để tránh LazyInitializationException, set default = 0
+        // Only used for freshly created categories, which cannot have tasks yet
+        response.setTaskCount(0);
+        response.setOpenTaskCount(0);
 
         return response;
     }
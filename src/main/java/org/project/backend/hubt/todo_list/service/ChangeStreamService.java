@@ -0,0 +1,308 @@
+package org.project.backend.hubt.todo_list.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.dto.ChangeEvent;
+import org.project.backend.hubt.todo_list.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeStreamService implements MessageListener {
+
+    public static final String EVENTS_CHANNEL = "changes:events";
+
+    private static final String SEQUENCE_PREFIX = "changes:seq:";
+    private static final String LOG_PREFIX = "changes:log:";
+
+    // Assigns the per-user event id, appends to the capped replay log and fans out in one step.
+    // Log entries are "<id>:<json>", channel messages "<userId>:<id>:<json>".
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            local id = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            local entry = id .. ':' .. ARGV[2]
+            redis.call('RPUSH', KEYS[2], entry)
+            redis.call('LTRIM', KEYS[2], -tonumber(ARGV[3]), -1)
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            redis.call('PUBLISH', ARGV[5], ARGV[1] .. ':' .. entry)
+            return id
+            """, Long.class);
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @Value("${app.stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.stream.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.stream.replay-ttl:P1D}")
+    private Duration replayTtl;
+
+    @Value("${app.stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${app.stream.send-queue-capacity:10000}")
+    private int sendQueueCapacity;
+
+    // Sends never run on the Redis listener or scheduler threads. Each user maps to one
+    // single-threaded sender, so a user's events go out in id order.
+    private ThreadPoolExecutor[] senders;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        senders = new ThreadPoolExecutor[sendThreads];
+        for (int i = 0; i < sendThreads; i++) {
+            senders[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(sendQueueCapacity), new CustomizableThreadFactory("sse-send-" + i + "-"));
+        }
+
+        meterRegistry.gauge("stream.connections", connections);
+        meterRegistry.gauge("stream.send.queue.depth", senders,
+                s -> Arrays.stream(s).mapToInt(executor -> executor.getQueue().size()).sum());
+        rejected = meterRegistry.counter("stream.send.rejected");
+        listenerContainer.addMessageListener(this,
+                List.of(new ChannelTopic(EVENTS_CHANNEL), new ChannelTopic(RedisService.REVOCATION_CHANNEL)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolExecutor sender : senders) {
+            sender.shutdown();
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open event streams, please retry later", 30);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        List<SseEmitter> userEmitters = emitters.compute(userId, (id, current) -> {
+            List<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        // The oldest stream of this user makes room; its completion callback releases the slot
+        if (userEmitters.size() > maxConnectionsPerUser) {
+            userEmitters.get(0).complete();
+        }
+
+        Runnable cleanup = () -> remove(userId, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(error -> cleanup.run());
+
+        // Registered before reading the log, so nothing published in between is lost; replayed on
+        // the user's sender so live events queue up behind it
+        dispatch(userId, () -> replay(userId, lastEventId, emitter));
+        return emitter;
+    }
+
+    // Id of the user's latest event (0 once the sequence has expired), or -1 if Redis is unavailable
+    public long latestEventId(Long userId) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(SEQUENCE_PREFIX + userId);
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (DataAccessException e) {
+            return -1;
+        }
+    }
+
+    public void publish(Long userId, ChangeEvent.Entity entity, ChangeEvent.Action action, List<Long> ids) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(userId, new ChangeEvent(entity, action, ids));
+                }
+            });
+        } else {
+            doPublish(userId, new ChangeEvent(entity, action, ids));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (RedisService.REVOCATION_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            try {
+                close(Long.valueOf(body));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed session revocation: {}", body);
+            }
+            return;
+        }
+
+        String[] parts = body.split(":", 3);
+        if (parts.length < 3) {
+            return;
+        }
+
+        Long userId = Long.valueOf(parts[0]);
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        dispatch(userId, () -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(emitter, SseEmitter.event().id(parts[1]).name("change").data(parts[2], MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:PT25S}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> dispatch(userId, () -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(emitter, SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    // The session behind these streams was logged out or revoked; clients reconnecting with a
+    // new ticket are authenticated again
+    private void close(Long userId) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null) {
+            userEmitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void dispatch(Long userId, Runnable sends) {
+        try {
+            senders[(int) Math.floorMod(userId, (long) senders.length)].execute(sends);
+        } catch (RejectedExecutionException e) {
+            // The sender is backed up; dropped streams reconnect and catch up from the replay log
+            rejected.increment();
+            List<SseEmitter> userEmitters = emitters.get(userId);
+            if (userEmitters != null) {
+                userEmitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    private void doPublish(Long userId, ChangeEvent event) {
+        try {
+            stringRedisTemplate.execute(PUBLISH_SCRIPT, List.of(SEQUENCE_PREFIX + userId, LOG_PREFIX + userId),
+                    String.valueOf(userId), objectMapper.writeValueAsString(event), String.valueOf(replaySize),
+                    String.valueOf(replayTtl.toMillis()), EVENTS_CHANNEL);
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to publish change event for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // Sends the events after lastEventId from the replay log. If the gap is no longer covered,
+    // the client is told to resync through GET /api/tasks/changes instead.
+    private void replay(Long userId, String lastEventId, SseEmitter emitter) {
+        send(emitter, SseEmitter.event().comment("connected"));
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+
+        long lastId;
+        List<String> entries;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+            entries = stringRedisTemplate.opsForList().range(LOG_PREFIX + userId, 0, -1);
+        } catch (NumberFormatException | DataAccessException e) {
+            send(emitter, SseEmitter.event().name("resync").data(""));
+            return;
+        }
+
+        if (entries == null || entries.isEmpty()) {
+            if (lastId > 0) {
+                send(emitter, SseEmitter.event().name("resync").data(""));
+            }
+            return;
+        }
+
+        long oldestId = entryId(entries.get(0));
+        long newestId = entryId(entries.get(entries.size() - 1));
+        if (lastId < oldestId - 1 || lastId > newestId) {
+            send(emitter, SseEmitter.event().name("resync").data(""));
+            return;
+        }
+
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            if (Long.parseLong(entry.substring(0, separator)) > lastId) {
+                send(emitter, SseEmitter.event().id(entry.substring(0, separator)).name("change")
+                        .data(entry.substring(separator + 1), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private long entryId(String entry) {
+        return Long.parseLong(entry.substring(0, entry.indexOf(':')));
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, list) -> {
+            if (list.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,257 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.entity.EmailOutbox;
+import org.project.backend.hubt.todo_list.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.outbox.workers:2}")
+    private int workers;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.lock-timeout:5m}")
+    private Duration lockTimeout;
+
+    @Value("${app.mail.outbox.sent-retention:P7D}")
+    private Duration sentRetention;
+
+    @Value("${app.mail.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    private ExecutorService executor;
+    private final AtomicLong queueDepth = new AtomicLong();
+    // Chunks handed to the executor and not yet finished; poll only claims for idle workers
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Timer sendTimer;
+    private Counter sent;
+    private Counter failed;
+    private Counter deadLettered;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("email-outbox-"));
+        meterRegistry.gauge("email.outbox.queue.depth", queueDepth);
+        sendTimer = meterRegistry.timer("email.outbox.send.duration");
+        sent = meterRegistry.counter("email.outbox.sent");
+        failed = meterRegistry.counter("email.outbox.failed");
+        deadLettered = meterRegistry.counter("email.outbox.dead");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = emailOutboxRepository.releaseStale(now.minus(lockTimeout),
+                    EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+            if (released > 0) {
+                log.warn("Released {} stale email outbox records", released);
+            }
+
+            int idle = workers - inFlight.get();
+            List<Long> dueIds = idle <= 0 ? List.of()
+                    : emailOutboxRepository.findDueIds(EmailOutbox.Status.PENDING, now, Limit.of(batchSize * idle));
+            if (!dueIds.isEmpty()) {
+                String owner = UUID.randomUUID().toString();
+                emailOutboxRepository.claim(dueIds, owner, now, EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+                dispatch(emailOutboxRepository.findByLockedByAndStatus(owner, EmailOutbox.Status.SENDING));
+            }
+
+            queueDepth.set(emailOutboxRepository.countByStatus(EmailOutbox.Status.PENDING));
+        } catch (Exception e) {
+            log.error("Email outbox poll failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval:PT1H}")
+    public void purgeSent() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(sentRetention);
+            long purged = 0;
+            List<Long> ids;
+            do {
+                ids = emailOutboxRepository.findIdsSentBefore(EmailOutbox.Status.SENT, cutoff, Limit.of(purgeBatchSize));
+                if (!ids.isEmpty()) {
+                    purged += emailOutboxRepository.deleteByIds(ids);
+                }
+            } while (ids.size() == purgeBatchSize);
+            if (purged > 0) {
+                log.info("Purged {} sent email outbox records", purged);
+            }
+        } catch (Exception e) {
+            log.error("Email outbox purge failed", e);
+        }
+    }
+
+    // Returns without waiting: the scheduler thread goes back to the other jobs while the
+    // chunks send, and a chunk that dies unexpectedly is picked up again by releaseStale
+    private void dispatch(List<EmailOutbox> claimed) {
+        for (int start = 0; start < claimed.size(); start += batchSize) {
+            List<EmailOutbox> chunk = claimed.subList(start, Math.min(start + batchSize, claimed.size()));
+            inFlight.incrementAndGet();
+            CompletableFuture.runAsync(() -> sendChunk(chunk), executor)
+                    .whenComplete((ignored, e) -> {
+                        inFlight.decrementAndGet();
+                        if (e != null) {
+                            log.error("Email outbox chunk of {} failed", chunk.size(), e);
+                        }
+                    });
+        }
+    }
+
+    private void sendChunk(List<EmailOutbox> chunk) {
+        Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        LocalDateTime claimedAt = LocalDateTime.now();
+        for (EmailOutbox email : chunk) {
+            if (isExpired(email, claimedAt)) {
+                markExpired(email);
+            } else {
+                messages.put(emailService.buildMessage(email.getRecipient(), email.getSubject(), email.getBody()), email);
+            }
+        }
+        if (messages.isEmpty()) {
+            emailOutboxRepository.saveAll(chunk);
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long start = System.nanoTime();
+        try {
+            // One send call reuses a single SMTP connection for the whole chunk
+            emailService.sendBatch(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (Exception e) {
+            failures = allFailed(messages, e);
+        }
+        sendTimer.record((System.nanoTime() - start) / Math.max(1, chunk.size()), TimeUnit.NANOSECONDS);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SimpleMailMessage, EmailOutbox> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                markSent(entry.getValue(), now);
+            } else {
+                markFailed(entry.getValue(), failure, now);
+            }
+        }
+        emailOutboxRepository.saveAll(chunk);
+    }
+
+    private Map<Object, Exception> allFailed(Map<SimpleMailMessage, EmailOutbox> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private void markSent(EmailOutbox email, LocalDateTime now) {
+        email.setStatus(EmailOutbox.Status.SENT);
+        email.setSentAt(now);
+        email.setLockedBy(null);
+        email.setLockedAt(null);
+        email.setLastError(null);
+        sent.increment();
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLockedBy(null);
+        email.setLockedAt(null);
+        email.setLastError(truncate(failure.getMessage()));
+
+        long backoffMillis = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << (attempts - 1));
+        LocalDateTime nextAttemptAt = now.plus(Duration.ofMillis(backoffMillis));
+        if (attempts >= maxAttempts || isExpired(email, nextAttemptAt)) {
+            email.setStatus(EmailOutbox.Status.DEAD);
+            deadLettered.increment();
+            log.error("Email to {} dead-lettered after {} attempts", email.getRecipient(), attempts, failure);
+            return;
+        }
+
+        email.setStatus(EmailOutbox.Status.PENDING);
+        email.setNextAttemptAt(nextAttemptAt);
+        failed.increment();
+        log.warn("Email to {} failed (attempt {}), retrying in {} ms", email.getRecipient(), attempts, backoffMillis);
+    }
+
+    private boolean isExpired(EmailOutbox email, LocalDateTime at) {
+        return email.getExpiresAt() != null && email.getExpiresAt().isBefore(at);
+    }
+
+    private void markExpired(EmailOutbox email) {
+        email.setStatus(EmailOutbox.Status.DEAD);
+        email.setLockedBy(null);
+        email.setLockedAt(null);
+        email.setLastError("Expired before it could be sent");
+        deadLettered.increment();
+        log.warn("Email to {} expired before it could be sent", email.getRecipient());
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 512 ? message.substring(0, 512) : message;
+    }
+}
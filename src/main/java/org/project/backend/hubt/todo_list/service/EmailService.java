@@ -2,30 +2,73 @@ package org.project.backend.hubt.todo_list.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.entity.EmailOutbox;
+import org.project.backend.hubt.todo_list.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${spring.mail.username:noreply@todolist.com}")
     private String fromEmail;
 
+    public void enqueueEmail(String to, String subject, String body) {
+        enqueueEmail(to, subject, body, null);
+    }
+
+    // Mail that is useless after validFor (an OTP past its expiry) is dead-lettered instead of
+    // retried beyond it
+    public void enqueueEmail(String to, String subject, String body, Duration validFor) {
+        EmailOutbox email = toOutbox(new OutgoingEmail(to, subject, body));
+        if (validFor != null) {
+            email.setExpiresAt(email.getNextAttemptAt().plus(validFor));
+        }
+        emailOutboxRepository.save(email);
+        log.debug("Email queued for: {}", to);
+    }
+
+    public void enqueueEmails(List<OutgoingEmail> emails) {
+        emailOutboxRepository.saveAll(emails.stream().map(this::toOutbox).toList());
+        log.debug("{} emails queued", emails.size());
+    }
+
+    private EmailOutbox toOutbox(OutgoingEmail outgoing) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(outgoing.to());
+        email.setSubject(outgoing.subject());
+        email.setBody(outgoing.body());
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
+    }
+
+    public SimpleMailMessage buildMessage(String to, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(body);
+        return message;
+    }
+
+    public void sendBatch(SimpleMailMessage... messages) {
+        mailSender.send(messages);
+    }
+
     public void sendEmail(String to, String subject, String body) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
+            mailSender.send(buildMessage(to, subject, body));
             log.info("Email sent successfully to: {}", to);
         } catch (Exception e) {
             log.error("Failed to send email to: {}", to, e);
@@ -41,4 +84,7 @@ public class EmailService {
             throw new RuntimeException("Failed to send HTML email: " + e.getMessage());
         }
     }
+
+    public record OutgoingEmail(String to, String subject, String body) {
+    }
 }
\ No newline at end of file
@@ -3,11 +3,15 @@ package org.project.backend.hubt.todo_list.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
 import java.time.Duration;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +25,37 @@ public class OtpService {
     private static final String OTP_PREFIX = "otp:";
     private static final String RESET_PREFIX = "reset:";
     private static final Duration OTP_EXPIRATION = Duration.ofMinutes(3);
+    private static final String ATTEMPTS_SUFFIX = ":attempts";
     private static final SecureRandom random = new SecureRandom();
 
+    // 1 = verified, 0 = wrong code, -1 = missing or expired, -2 = attempts exhausted
+    private static final RedisScript<Long> VERIFY_OTP_SCRIPT = new DefaultRedisScript<>("""
+            local stored = redis.call('GET', KEYS[1])
+            if not stored then
+                return -1
+            end
+            if stored == ARGV[1] then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return 1
+            end
+            local attempts = redis.call('INCR', KEYS[2])
+            if attempts == 1 then
+                local ttl = redis.call('PTTL', KEYS[1])
+                if ttl <= 0 then
+                    ttl = ARGV[3]
+                end
+                redis.call('PEXPIRE', KEYS[2], ttl)
+            end
+            if attempts >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return -2
+            end
+            return 0
+            """, Long.class);
+
+    @Value("${app.otp.max-attempts:5}")
+    private int maxAttempts;
+
     public String generateOtp() {
         int otp = 100000 + random.nextInt(900000); // 6-digit OTP
         return String.valueOf(otp);
@@ -30,62 +63,50 @@ public class OtpService {
 
     public void sendVerificationOtp(String email, String username) {
         String otp = generateOtp();
-        String key = OTP_PREFIX + "verify:" + email;
-
-        stringRedisTemplate.opsForValue().set(key, otp, OTP_EXPIRATION);
+        storeOtp(otpKey(email, OtpType.VERIFICATION), otp);
 
         String subject = "Todo List - Account Verification";
         String body = buildVerificationEmailBody(username, otp);
-        emailService.sendEmail(email, subject, body);
+        emailService.enqueueEmail(email, subject, body, OTP_EXPIRATION);
 
-        log.info("Verification OTP sent to email: {}", email);
+        log.info("Verification OTP queued for email: {}", email);
     }
 
     public void sendPasswordResetOtp(String email, String username) {
         String otp = generateOtp();
-        String key = RESET_PREFIX + "password:" + email;
-
-        stringRedisTemplate.opsForValue().set(key, otp, OTP_EXPIRATION);
+        storeOtp(otpKey(email, OtpType.PASSWORD_RESET), otp);
 
         String subject = "Todo List - Password Reset";
         String body = buildPasswordResetEmailBody(username, otp);
-        emailService.sendEmail(email, subject, body);
+        emailService.enqueueEmail(email, subject, body, OTP_EXPIRATION);
 
-        log.info("Password reset OTP sent to email: {}", email);
+        log.info("Password reset OTP queued for email: {}", email);
     }
 
-    public boolean verifyOtp(String email, String otp, OtpType type) {
-        String key = switch (type) {
-            case VERIFICATION -> OTP_PREFIX + "verify:" + email;
-            case PASSWORD_RESET -> RESET_PREFIX + "password:" + email;
-        };
-
-        String storedOtp = stringRedisTemplate.opsForValue().get(key);
+    public VerificationResult verifyOtp(String email, String otp, OtpType type) {
+        String key = otpKey(email, type);
+        Long result = stringRedisTemplate.execute(VERIFY_OTP_SCRIPT, List.of(key, key + ATTEMPTS_SUFFIX),
+                otp, String.valueOf(maxAttempts), String.valueOf(OTP_EXPIRATION.toMillis()));
 
-        if (storedOtp != null && storedOtp.equals(otp)) {
-            stringRedisTemplate.delete(key);
+        VerificationResult verificationResult = VerificationResult.fromCode(result);
+        if (verificationResult == VerificationResult.VERIFIED) {
             log.info("OTP verification successful for email: {}", email);
-            return true;
+        } else {
+            log.warn("OTP verification failed for email: {} ({})", email, verificationResult);
         }
-
-        log.warn("OTP verification failed for email: {}", email);
-        return false;
+        return verificationResult;
     }
 
-    public void deleteOtp(String email, OtpType type) {
-        String key = switch (type) {
-            case VERIFICATION -> OTP_PREFIX + "verify:" + email;
-            case PASSWORD_RESET -> RESET_PREFIX + "password:" + email;
-        };
-        stringRedisTemplate.delete(key);
+    private void storeOtp(String key, String otp) {
+        stringRedisTemplate.opsForValue().set(key, otp, OTP_EXPIRATION);
+        stringRedisTemplate.delete(key + ATTEMPTS_SUFFIX);
     }
 
-    public boolean isOtpValid(String email, OtpType type) {
-        String key = switch (type) {
+    private String otpKey(String email, OtpType type) {
+        return switch (type) {
             case VERIFICATION -> OTP_PREFIX + "verify:" + email;
             case PASSWORD_RESET -> RESET_PREFIX + "password:" + email;
         };
-        return stringRedisTemplate.hasKey(key);
     }
 
     private String buildVerificationEmailBody(String username, String otp) {
@@ -125,4 +146,20 @@ public class OtpService {
     public enum OtpType {
         VERIFICATION, PASSWORD_RESET
     }
+
+    public enum VerificationResult {
+        VERIFIED, INVALID, EXPIRED, TOO_MANY_ATTEMPTS;
+
+        private static VerificationResult fromCode(Long code) {
+            if (code == null) {
+                return EXPIRED;
+            }
+            return switch (code.intValue()) {
+                case 1 -> VERIFIED;
+                case 0 -> INVALID;
+                case -2 -> TOO_MANY_ATTEMPTS;
+                default -> EXPIRED;
+            };
+        }
+    }
 }
\ No newline at end of file
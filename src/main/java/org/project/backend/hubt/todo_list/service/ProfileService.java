@@ -2,12 +2,14 @@ package org.project.backend.hubt.todo_list.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.dto.AuthResponse;
 import org.project.backend.hubt.todo_list.dto.ChangePasswordRequest;
 import org.project.backend.hubt.todo_list.dto.UpdateProfileRequest;
+import org.project.backend.hubt.todo_list.dto.UpdateProfileResponse;
 import org.project.backend.hubt.todo_list.dto.UserProfileResponse;
 import org.project.backend.hubt.todo_list.entity.User;
+import org.project.backend.hubt.todo_list.repository.TaskStatRepository;
 import org.project.backend.hubt.todo_list.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,11 +19,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProfileService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RedisService redisService;
+    private final TaskStatRepository taskStatRepository;
+    private final AuthService authService;
 
-    public UserProfileResponse getUserProfile(String username) {
-        User user = userRepository.findByUsername(username)
+    public UserProfileResponse getUserProfile(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         UserProfileResponse response = new UserProfileResponse();
@@ -40,9 +44,10 @@ public class ProfileService {
     }
 
     @Transactional
-    public String updateProfile(String currentUsername, UpdateProfileRequest request) {
-        User user = userRepository.findByUsername(currentUsername)
+    public UpdateProfileResponse updateProfile(Long userId, UpdateProfileRequest request) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String currentUsername = user.getUsername();
 
         if (!user.getUsername().equals(request.getUsername())) {
             if (userRepository.findByUsername(request.getUsername()).isPresent()) {
@@ -63,45 +68,56 @@ public class ProfileService {
         user.setLastName(request.getLastName());
         user.setPhone(request.getPhone());
 
-        userRepository.save(user);
+        // Flushed first so a username clash fails before any session is touched
+        userRepository.saveAndFlush(user);
 
+        AuthResponse session = null;
         if (!currentUsername.equals(request.getUsername())) {
-            redisService.logoutUser(currentUsername);
+            redisService.logoutUser(userId, currentUsername);
+            session = authService.issueSession(user);
         }
 
         log.info("Profile updated for user: {}", request.getUsername());
-        return "Profile updated successfully";
+        return new UpdateProfileResponse("Profile updated successfully", session);
     }
 
-    @Transactional
-    public String changePassword(String username, ChangePasswordRequest request) {
-        User user = userRepository.findByUsername(username)
+    // Not transactional: both bcrypt rounds run without a pooled connection held. The write is a
+    // compare-and-set on the hash that was verified, so a password changed in between is not
+    // overwritten.
+    public String changePassword(Long userId, ChangePasswordRequest request) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
-            throw new RuntimeException("Current password is incorrect");
-        }
+        String username = user.getUsername();
+        String currentHash = user.getPassword();
 
         if (!request.getNewPassword().equals(request.getConfirmPassword())) {
             throw new RuntimeException("New passwords do not match");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        if (!passwordHashingService.matches(request.getCurrentPassword(), currentHash)) {
+            throw new RuntimeException("Current password is incorrect");
+        }
+
+        String newHash = passwordHashingService.encode(request.getNewPassword());
+        if (userRepository.updatePasswordIfUnchanged(userId, currentHash, newHash) == 0) {
+            throw new RuntimeException("Password was changed by another request, please try again");
+        }
 
-        redisService.logoutUser(username);
+        redisService.logoutUser(userId, username);
 
         log.info("Password changed for user: {}", username);
         return "Password changed successfully. Please login again.";
     }
 
     @Transactional
-    public String deleteAccount(String username) {
-        User user = userRepository.findByUsername(username)
+    public String deleteAccount(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String username = user.getUsername();
 
-        redisService.logoutUser(username);
+        redisService.logoutUser(userId, username);
 
+        taskStatRepository.deleteByUserId(userId);
         userRepository.delete(user);
 
         log.info("Account deleted for user: {}", username);
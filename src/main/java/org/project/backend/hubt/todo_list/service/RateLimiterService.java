@@ -0,0 +1,102 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.config.RateLimitProperties;
+import org.project.backend.hubt.todo_list.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiterService {
+
+    private static final String RATE_LIMIT_PREFIX = "rate:";
+
+    // Refills and takes one token from every bucket, or none if any bucket is empty.
+    // Returns 0 when allowed, otherwise the milliseconds until all buckets have a token.
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            redis.replicate_commands()
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local tokens = {}
+            local wait = 0
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2 - 1])
+                local rate = tonumber(ARGV[i * 2])
+                local state = redis.call('HMGET', key, 'tokens', 'ts')
+                local available = tonumber(state[1]) or capacity
+                local last = tonumber(state[2]) or now
+                available = math.min(capacity, available + math.max(0, now - last) * rate)
+                tokens[i] = available
+                if available < 1 then
+                    wait = math.max(wait, math.ceil((1 - available) / rate))
+                end
+            end
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2 - 1])
+                local rate = tonumber(ARGV[i * 2])
+                local remaining = tokens[i]
+                if wait == 0 then
+                    remaining = remaining - 1
+                end
+                redis.call('HSET', key, 'tokens', tostring(remaining), 'ts', now)
+                redis.call('PEXPIRE', key, math.ceil(capacity / rate) + 1000)
+            end
+            return wait
+            """, Long.class);
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final RateLimitProperties properties;
+
+    public void check(String endpoint, String clientIp, String identity) {
+        RateLimitProperties.EndpointLimits limits = properties.getEndpoints().get(endpoint);
+        if (!properties.isEnabled() || limits == null) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(3);
+        List<String> args = new ArrayList<>(6);
+        String prefix = RATE_LIMIT_PREFIX + endpoint + ":";
+        addBucket(keys, args, limits.getIp(), clientIp != null ? prefix + "ip:" + clientIp : null);
+        addBucket(keys, args, limits.getIdentity(),
+                identity != null ? prefix + "id:" + identity.trim().toLowerCase(Locale.ROOT) : null);
+        addBucket(keys, args, limits.getGlobal(), prefix + "global");
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Long waitMillis;
+        try {
+            waitMillis = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys, args.toArray());
+        } catch (DataAccessException e) {
+            log.warn("Rate limiter unavailable for {}, allowing request", endpoint, e);
+            return;
+        }
+
+        if (waitMillis != null && waitMillis > 0) {
+            log.debug("Rate limit exceeded on {} for ip={} identity={}", endpoint, clientIp, identity);
+            throw new RateLimitExceededException("Too many requests, please try again later",
+                    Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+
+    private void addBucket(List<String> keys, List<String> args, RateLimitProperties.Bucket bucket, String key) {
+        if (bucket == null || key == null || bucket.getCapacity() <= 0 || bucket.getRefillPerMinute() <= 0) {
+            return;
+        }
+        keys.add(key);
+        args.add(String.valueOf(bucket.getCapacity()));
+        args.add(String.valueOf(bucket.getRefillPerMinute() / 60000.0));
+    }
+}
@@ -3,67 +3,157 @@ package org.project.backend.hubt.todo_list.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.Set;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisService {
 
+    // Carries the user id of every session that was logged out or revoked for reuse. Not the
+    // username, which a profile update can change while the user's streams stay open.
+    public static final String REVOCATION_CHANNEL = "session:revoked";
+
     @Qualifier("customStringRedisTemplate")
     private final RedisTemplate<String, String> stringRedisTemplate;
+    private final SessionNearCache sessionNearCache;
+
+    // Sessions live exactly as long as the refresh token JwtUtil signs with the same setting
+    @Value("${app.jwt.refresh-expiration:2592000000}")
+    private long refreshExpiration;
 
+    private static final String SESSION_PREFIX = "session:";
+    private static final String ACCESS_FIELD = "access";
+    // Legacy v1 keys, migrated into the session hash on first use
     private static final String JWT_PREFIX = "jwt:";
     private static final String REFRESH_PREFIX = "refresh:";
-    private static final Duration JWT_EXPIRATION = Duration.ofDays(1); // 24 hours
-    private static final Duration REFRESH_EXPIRATION = Duration.ofDays(30); // 30 days
 
-    public void storeJwtToken(String username, String token) {
-        String key = JWT_PREFIX + username;
-        stringRedisTemplate.opsForValue().set(key, token, JWT_EXPIRATION);
-        log.debug("JWT token stored for user: {}", username);
-    }
-
-    public String getJwtToken(String username) {
-        String key = JWT_PREFIX + username;
-        return stringRedisTemplate.opsForValue().get(key);
+    private static final RedisScript<Long> STORE_SESSION_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'sid', ARGV[1], 'access', ARGV[2], 'refresh', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('DEL', KEYS[2], KEYS[3])
+            redis.call('PUBLISH', ARGV[5], ARGV[6])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> DELETE_SESSION_SCRIPT = new DefaultRedisScript<>("""
+            local deleted = redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+            redis.call('PUBLISH', ARGV[1], ARGV[2])
+            redis.call('PUBLISH', ARGV[3], ARGV[4])
+            return deleted
+            """, Long.class);
+
+    private static final RedisScript<Boolean> COMPARE_FIELD_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], ARGV[1])
+            if current then
+                return current == ARGV[2] and 1 or 0
+            end
+            local legacyAccess = redis.call('GET', KEYS[2])
+            local legacyRefresh = redis.call('GET', KEYS[3])
+            if not legacyAccess and not legacyRefresh then
+                return 0
+            end
+            if legacyAccess then
+                redis.call('HSET', KEYS[1], 'access', legacyAccess)
+            end
+            if legacyRefresh then
+                redis.call('HSET', KEYS[1], 'refresh', legacyRefresh)
+            end
+            local ttl = redis.call('PTTL', KEYS[3])
+            if ttl <= 0 then
+                ttl = redis.call('PTTL', KEYS[2])
+            end
+            if ttl <= 0 then
+                ttl = ARGV[3]
+            end
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            redis.call('DEL', KEYS[2], KEYS[3])
+            return redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] and 1 or 0
+            """, Boolean.class);
+
+    // Only an older refresh token of the stored session (same sid, stale jti) counts as reuse and
+    // revokes it. Tokens of another session, e.g. one replaced by a later login, are just invalid.
+    private static final RedisScript<Long> ROTATE_SESSION_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'refresh')
+            if not current then
+                current = redis.call('GET', KEYS[3])
+            end
+            if not current then
+                return 0
+            end
+            if current ~= ARGV[1] then
+                local sid = redis.call('HGET', KEYS[1], 'sid')
+                if not sid or ARGV[2] == '' or sid ~= ARGV[2] then
+                    return 0
+                end
+                redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+                redis.call('PUBLISH', ARGV[6], ARGV[7])
+                redis.call('PUBLISH', ARGV[9], ARGV[10])
+                return -1
+            end
+            redis.call('HSET', KEYS[1], 'sid', ARGV[3], 'access', ARGV[4], 'refresh', ARGV[5])
+            redis.call('PEXPIRE', KEYS[1], ARGV[8])
+            redis.call('DEL', KEYS[2], KEYS[3])
+            redis.call('PUBLISH', ARGV[6], ARGV[7])
+            return 1
+            """, Long.class);
+
+    public void storeSession(String username, String sessionId, String token, String refreshToken) {
+        stringRedisTemplate.execute(STORE_SESSION_SCRIPT, sessionKeys(username),
+                sessionId, token, refreshToken, String.valueOf(refreshExpiration),
+                SessionNearCache.INVALIDATION_CHANNEL, username);
+        sessionNearCache.invalidate(username);
+        log.debug("Session stored for user: {}", username);
     }
 
-    public void deleteJwtToken(String username) {
-        String key = JWT_PREFIX + username;
-        stringRedisTemplate.delete(key);
-        log.debug("JWT token deleted for user: {}", username);
+    public RotationResult rotateSession(Long userId, String username, String presentedRefreshToken,
+                                        String presentedSessionId, String sessionId, String token,
+                                        String refreshToken) {
+        Long result = stringRedisTemplate.execute(ROTATE_SESSION_SCRIPT, sessionKeys(username),
+                presentedRefreshToken, presentedSessionId != null ? presentedSessionId : "",
+                sessionId, token, refreshToken, SessionNearCache.INVALIDATION_CHANNEL, username,
+                String.valueOf(refreshExpiration), REVOCATION_CHANNEL, String.valueOf(userId));
+        sessionNearCache.invalidate(username);
+
+        if (result == null || result == 0) {
+            return RotationResult.INVALID;
+        }
+        if (result < 0) {
+            log.warn("Refresh token reuse detected for user: {}, session revoked", username);
+            return RotationResult.REUSED;
+        }
+        log.debug("Session rotated for user: {}", username);
+        return RotationResult.ROTATED;
     }
 
     public boolean isJwtTokenValid(String username, String token) {
-        String storedToken = getJwtToken(username);
-        return storedToken != null && storedToken.equals(token);
-    }
-
-    public void storeRefreshToken(String username, String refreshToken) {
-        String key = REFRESH_PREFIX + username;
-        stringRedisTemplate.opsForValue().set(key, refreshToken, REFRESH_EXPIRATION);
-        log.debug("Refresh token stored for user: {}", username);
-    }
+        String cachedToken = sessionNearCache.get(username);
+        if (cachedToken != null) {
+            return cachedToken.equals(token);
+        }
 
-    public String getRefreshToken(String username) {
-        String key = REFRESH_PREFIX + username;
-        return stringRedisTemplate.opsForValue().get(key);
+        boolean valid = compareField(username, ACCESS_FIELD, token);
+        if (valid) {
+            sessionNearCache.put(username, token);
+        }
+        return valid;
     }
 
-    public void deleteRefreshToken(String username) {
-        String key = REFRESH_PREFIX + username;
-        stringRedisTemplate.delete(key);
-        log.debug("Refresh token deleted for user: {}", username);
+    private boolean compareField(String username, String field, String value) {
+        Boolean matches = stringRedisTemplate.execute(COMPARE_FIELD_SCRIPT, sessionKeys(username),
+                field, value, String.valueOf(refreshExpiration));
+        return Boolean.TRUE.equals(matches);
     }
 
-    public boolean isRefreshTokenValid(String username, String refreshToken) {
-        String storedToken = getRefreshToken(username);
-        return storedToken != null && storedToken.equals(refreshToken);
+    private List<String> sessionKeys(String username) {
+        return List.of(SESSION_PREFIX + username, JWT_PREFIX + username, REFRESH_PREFIX + username);
     }
 
     public void set(String key, String value, Duration expiration) {
@@ -82,26 +172,14 @@ public class RedisService {
         return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key));
     }
 
-    public void cleanupExpiredTokens() {
-        try {
-            Set<String> jwtKeys = stringRedisTemplate.keys(JWT_PREFIX + "*");
-            Set<String> refreshKeys = stringRedisTemplate.keys(REFRESH_PREFIX + "*");
-
-            if (jwtKeys != null && !jwtKeys.isEmpty()) {
-                log.info("Found {} JWT tokens in Redis", jwtKeys.size());
-            }
-
-            if (refreshKeys != null && !refreshKeys.isEmpty()) {
-                log.info("Found {} refresh tokens in Redis", refreshKeys.size());
-            }
-        } catch (Exception e) {
-            log.error("Error during token cleanup", e);
-        }
+    public void logoutUser(Long userId, String username) {
+        stringRedisTemplate.execute(DELETE_SESSION_SCRIPT, sessionKeys(username),
+                SessionNearCache.INVALIDATION_CHANNEL, username, REVOCATION_CHANNEL, String.valueOf(userId));
+        sessionNearCache.invalidate(username);
+        log.info("User {} logged out from all devices", username);
     }
 
-    public void logoutUser(String username) {
-        deleteJwtToken(username);
-        deleteRefreshToken(username);
-        log.info("User {} logged out from all devices", username);
+    public enum RotationResult {
+        ROTATED, INVALID, REUSED
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package org.project.backend.hubt.todo_list.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+// Hashed timer wheel keyed by task id: scheduling and cancelling are O(1), and each tick only
+// walks one slot. Entries further out than one rotation wait in their slot for later rounds.
+final class ReminderWheel {
+
+    private final long tickMillis;
+    private final LinkedList<Entry>[] slots;
+    private final int mask;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    ReminderWheel(long tickMillis, int slotCount, long nowMillis) {
+        int size = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new LinkedList[size];
+        this.mask = size - 1;
+        this.currentTick = nowMillis / tickMillis;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LinkedList<>();
+        }
+    }
+
+    // Replaces any pending entry for the task; fire times already past go off on the next tick
+    synchronized void schedule(long taskId, long fireAtMillis) {
+        cancel(taskId);
+        long tick = Math.max(fireAtMillis / tickMillis, currentTick + 1);
+        Entry entry = new Entry(taskId, tick);
+        entries.put(taskId, entry);
+        slots[(int) (tick & mask)].add(entry);
+    }
+
+    // Cancelled entries stay in their slot and are dropped when the wheel next passes it
+    synchronized void cancel(long taskId) {
+        entries.remove(taskId);
+    }
+
+    // Returns the ids of every entry due at or before now. After a long pause each slot is
+    // walked at most once.
+    synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= currentTick) {
+            return List.of();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long ticks = Math.min(nowTick - currentTick, slots.length);
+        for (long i = 1; i <= ticks; i++) {
+            Iterator<Entry> iterator = slots[(int) ((currentTick + i) & mask)].iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entries.get(entry.taskId) != entry) {
+                    iterator.remove();
+                } else if (entry.tick <= nowTick) {
+                    iterator.remove();
+                    entries.remove(entry.taskId);
+                    expired.add(entry.taskId);
+                }
+            }
+        }
+        currentTick = nowTick;
+        return expired;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final long taskId;
+        private final long tick;
+
+        private Entry(long taskId, long tick) {
+            this.taskId = taskId;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionInventoryJob {
+
+    private static final List<String> PREFIXES = List.of("session:", "jwt:", "refresh:");
+
+    // Returns the next cursor followed by the PTTL of every key on the page
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCAN_PAGE_SCRIPT = new DefaultRedisScript<>("""
+            local page = redis.call('SCAN', ARGV[1], 'MATCH', ARGV[2], 'COUNT', ARGV[3])
+            local result = {page[1]}
+            for _, key in ipairs(page[2]) do
+                result[#result + 1] = redis.call('PTTL', key)
+            end
+            return result
+            """, List.class);
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.session.inventory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.session.inventory.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.session.inventory.pause:50ms}")
+    private Duration pause;
+
+    private final Map<String, AtomicLong> gauges = new HashMap<>();
+    private Timer runTimer;
+
+    @PostConstruct
+    void init() {
+        for (String prefix : PREFIXES) {
+            for (TtlBucket bucket : TtlBucket.values()) {
+                AtomicLong value = new AtomicLong();
+                gauges.put(gaugeKey(prefix, bucket), value);
+                meterRegistry.gauge("session.inventory.keys",
+                        Tags.of("prefix", prefix, "ttl", bucket.label), value);
+            }
+        }
+        runTimer = meterRegistry.timer("session.inventory.duration");
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.inventory.interval:PT5M}",
+               initialDelayString = "${app.session.inventory.initial-delay:PT1M}")
+    public void takeInventory() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, Long> counts = new HashMap<>();
+        long scanned = 0;
+
+        try {
+            for (String prefix : PREFIXES) {
+                scanned += scanPrefix(prefix, counts);
+            }
+        } catch (Exception e) {
+            log.error("Session inventory scan failed after {} keys", scanned, e);
+            return;
+        }
+
+        gauges.forEach((key, gauge) -> gauge.set(counts.getOrDefault(key, 0L)));
+        runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Session inventory finished: {} keys scanned in {} ms", scanned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // One SCAN page per call: MATCH keeps the walk to this prefix, and the pause between calls
+    // paces the round trips even when a page matches nothing
+    private long scanPrefix(String prefix, Map<String, Long> counts) {
+        long scanned = 0;
+        String cursor = "0";
+        do {
+            List<?> page = stringRedisTemplate.execute(SCAN_PAGE_SCRIPT, List.of(),
+                    cursor, prefix + "*", String.valueOf(batchSize));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            cursor = String.valueOf(page.get(0));
+            for (int i = 1; i < page.size(); i++) {
+                if (page.get(i) instanceof Long millis && millis != -2) {
+                    counts.merge(gaugeKey(prefix, TtlBucket.of(millis)), 1L, Long::sum);
+                }
+            }
+            scanned += page.size() - 1;
+            if (!"0".equals(cursor)) {
+                pause();
+            }
+        } while (!"0".equals(cursor));
+        return scanned;
+    }
+
+    private void pause() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String gaugeKey(String prefix, TtlBucket bucket) {
+        return prefix + bucket.label;
+    }
+
+    private enum TtlBucket {
+        LT_1H("lt_1h", Duration.ofHours(1)),
+        LT_1D("lt_1d", Duration.ofDays(1)),
+        LT_7D("lt_7d", Duration.ofDays(7)),
+        LT_30D("lt_30d", Duration.ofDays(30)),
+        GE_30D("ge_30d", null),
+        PERSISTENT("persistent", null);
+
+        private final String label;
+        private final Duration upperBound;
+
+        TtlBucket(String label, Duration upperBound) {
+            this.label = label;
+            this.upperBound = upperBound;
+        }
+
+        static TtlBucket of(long ttlMillis) {
+            if (ttlMillis < 0) {
+                return PERSISTENT;
+            }
+            for (TtlBucket bucket : values()) {
+                if (bucket.upperBound != null && ttlMillis < bucket.upperBound.toMillis()) {
+                    return bucket;
+                }
+            }
+            return GE_30D;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "session:invalidate";
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.session.near-cache-ttl:5s}")
+    private Duration ttl;
+
+    @Value("${app.session.near-cache-size:10000}")
+    private int maxSize;
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("session.near_cache.requests", "result", "hit");
+        misses = meterRegistry.counter("session.near_cache.requests", "result", "miss");
+        meterRegistry.gaugeMapSize("session.near_cache.size", Tags.empty(), entries);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public String get(String username) {
+        CachedToken cached = entries.get(username);
+        if (cached == null || cached.isExpired()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.token();
+    }
+
+    public void put(String username, String token) {
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(CachedToken::isExpired);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(username, new CachedToken(token, System.nanoTime() + ttl.toNanos()));
+    }
+
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String username = new String(message.getBody(), StandardCharsets.UTF_8);
+        invalidate(username);
+        log.debug("Session near-cache invalidated for user: {}", username);
+    }
+
+    private record CachedToken(String token, long expiresAtNanos) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+// EventSource cannot send an Authorization header. Instead of putting the access token in the
+// stream URL, where request logs would record it, the client trades it for a short-lived ticket
+// that opens exactly one stream.
+@Service
+@RequiredArgsConstructor
+public class StreamTicketService {
+
+    private static final String TICKET_PREFIX = "changes:ticket:";
+    private static final SecureRandom random = new SecureRandom();
+
+    private static final RedisScript<String> REDEEM_TICKET_SCRIPT = new DefaultRedisScript<>("""
+            local token = redis.call('GET', KEYS[1])
+            if token then
+                redis.call('DEL', KEYS[1])
+            end
+            return token
+            """, String.class);
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    @Value("${app.stream.ticket-ttl:PT30S}")
+    private Duration ticketTtl;
+
+    public String issue(String accessToken) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        stringRedisTemplate.opsForValue().set(TICKET_PREFIX + ticket, accessToken, ticketTtl);
+        return ticket;
+    }
+
+    // Returns the access token the ticket was issued for, or null if it is unknown, expired or used
+    public String redeem(String ticket) {
+        return stringRedisTemplate.execute(REDEEM_TICKET_SCRIPT, List.of(TICKET_PREFIX + ticket));
+    }
+}
@@ -0,0 +1,179 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskListCache {
+
+    private static final String VERSION_PREFIX = "tasks:version:";
+    private static final String LIST_PREFIX = "tasks:list:";
+
+    // A missing version starts at the current time, so it can never fall back onto a version
+    // whose list entries are still alive
+    private static final RedisScript<Long> CURRENT_VERSION_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('GET', KEYS[1])
+            if not version then
+                version = ARGV[1]
+                redis.call('SET', KEYS[1], version, 'PX', ARGV[2])
+            end
+            return tonumber(version)
+            """, Long.class);
+
+    private static final RedisScript<Long> BUMP_VERSION_SCRIPT = new DefaultRedisScript<>("""
+            local version
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                version = redis.call('INCR', KEYS[1])
+            else
+                version = tonumber(ARGV[1])
+                redis.call('SET', KEYS[1], version)
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return version
+            """, Long.class);
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    @Qualifier("taskListRedisTemplate")
+    private final RedisTemplate<String, List<TaskResponse>> taskListRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.task-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.task-cache.ttl:PT10M}")
+    private Duration ttl;
+
+    @Value("${app.task-cache.version-ttl:P7D}")
+    private Duration versionTtl;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter errors;
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("tasks.list_cache.requests", "result", "hit");
+        misses = meterRegistry.counter("tasks.list_cache.requests", "result", "miss");
+        errors = meterRegistry.counter("tasks.list_cache.requests", "result", "error");
+    }
+
+    // Read before loading from the database so a concurrent bump leaves the loaded list unreachable.
+    // Returns -1 when Redis is unavailable.
+    public long currentVersion(Long userId) {
+        try {
+            Long version = stringRedisTemplate.execute(CURRENT_VERSION_SCRIPT, List.of(VERSION_PREFIX + userId),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(versionTtl.toMillis()));
+            return version != null ? version : -1;
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Task list cache version lookup failed for user {}: {}", userId, e.getMessage());
+            return -1;
+        }
+    }
+
+    public List<TaskResponse> get(Long userId, long version, Long categoryId, Boolean isCompleted) {
+        if (!enabled || version < 0) {
+            return null;
+        }
+
+        String key = listKey(userId, version, categoryId, isCompleted);
+        try {
+            List<TaskResponse> tasks = taskListRedisTemplate.opsForValue().get(key);
+            (tasks != null ? hits : misses).increment();
+            return tasks;
+        } catch (SerializationException e) {
+            // A corrupt or truncated entry would fail the same way on every read until its TTL runs
+            // out, so drop it and let the caller's load write a fresh one
+            misses.increment();
+            log.warn("Task list cache entry {} is unreadable, dropping it: {}", key, e.getMessage());
+            evict(key);
+            return null;
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Task list cache read failed for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(Long userId, long version, Long categoryId, Boolean isCompleted, List<TaskResponse> tasks) {
+        if (!enabled || version < 0) {
+            return;
+        }
+
+        try {
+            taskListRedisTemplate.opsForValue().set(listKey(userId, version, categoryId, isCompleted), tasks, ttl);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Task list cache write failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion(userId);
+                }
+            });
+        } else {
+            bumpVersion(userId);
+        }
+    }
+
+    // Strong validator for one user's view of a list. The version is bumped on every task or
+    // category mutation, so it changes whenever any variant of the list could have changed.
+    public String etag(Long userId, Object... variant) {
+        long version = currentVersion(userId);
+        if (version < 0) {
+            return null;
+        }
+        return "\"" + userId + "-" + version + "-" + Integer.toHexString(Arrays.hashCode(variant)) + "\"";
+    }
+
+    private void bumpVersion(Long userId) {
+        try {
+            stringRedisTemplate.execute(BUMP_VERSION_SCRIPT, List.of(VERSION_PREFIX + userId),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(versionTtl.toMillis()));
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Task list cache invalidation failed for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+        try {
+            taskListRedisTemplate.delete(key);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Task list cache delete failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String listKey(Long userId, long version, Long categoryId, Boolean isCompleted) {
+        return LIST_PREFIX + userId + ":" + version + ":"
+                + (categoryId != null ? categoryId : "-") + ":"
+                + (isCompleted != null ? isCompleted : "-");
+    }
+}
@@ -0,0 +1,240 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Reminders fire leadTime before a task's dueDate. Fire times are cut into fixed windows; shortly
+// before a window opens, the node that wins its Redis lease loads the window's reminders from
+// idx_tasks_due_completed into an in-memory timer wheel. Expired entries are handed to
+// TaskReminderService in batches, which re-checks each task before queueing the email.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskReminderScheduler {
+
+    private static final String LEASE_PREFIX = "reminders:lease:";
+
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskReminderService taskReminderService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.lead-time:PT30M}")
+    private Duration leadTime;
+
+    @Value("${app.reminders.window:PT5M}")
+    private Duration window;
+
+    @Value("${app.reminders.prefetch:PT1M}")
+    private Duration prefetch;
+
+    // How far back a sweep looks for reminders whose window passed unsent (lease holder died,
+    // delivery failed)
+    @Value("${app.reminders.catch-up:PT1H}")
+    private Duration catchUp;
+
+    @Value("${app.reminders.tick:PT1S}")
+    private Duration tick;
+
+    @Value("${app.reminders.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.reminders.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.reminders.max-pending:200000}")
+    private int maxPending;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private ReminderWheel wheel;
+    private volatile long nextWindow;
+    private Counter sent;
+    private Counter skipped;
+    private Counter failed;
+    private Timer sweepTimer;
+
+    @PostConstruct
+    void init() {
+        long now = System.currentTimeMillis();
+        int slots = (int) Math.max(64, window.plus(prefetch).toMillis() / tick.toMillis());
+        wheel = new ReminderWheel(tick.toMillis(), slots, now);
+        nextWindow = now / window.toMillis();
+
+        meterRegistry.gauge("tasks.reminders.pending", wheel, ReminderWheel::size);
+        sent = meterRegistry.counter("tasks.reminders.delivered", "result", "sent");
+        skipped = meterRegistry.counter("tasks.reminders.delivered", "result", "skipped");
+        failed = meterRegistry.counter("tasks.reminders.delivered", "result", "failed");
+        sweepTimer = meterRegistry.timer("tasks.reminders.sweep.duration");
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.sweep-interval:PT15S}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long windowMillis = window.toMillis();
+        long now = System.currentTimeMillis();
+        long last = (now + prefetch.toMillis()) / windowMillis;
+        for (long n = Math.max(nextWindow, now / windowMillis - 1); n <= last; n++) {
+            // Advanced before loading: a task committed after this point is either seen by the
+            // query below or falls inside the horizon that reschedule() handles directly
+            nextWindow = n + 1;
+            if (!acquireLease(n)) {
+                continue;
+            }
+            try {
+                int loaded = loadWindow(n);
+                log.debug("Reminder window {} loaded {} tasks", n, loaded);
+            } catch (Exception e) {
+                log.error("Reminder sweep failed for window {}", n, e);
+            }
+        }
+        sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Scheduled(fixedRateString = "${app.reminders.tick:PT1S}")
+    public void fire() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueBy = now.plus(leadTime).plus(tick);
+        for (int start = 0; start < expired.size(); start += batchSize) {
+            List<Long> batch = expired.subList(start, Math.min(start + batchSize, expired.size()));
+            try {
+                int queued = taskReminderService.deliver(batch, dueBy, now);
+                sent.increment(queued);
+                skipped.increment(batch.size() - queued);
+            } catch (Exception e) {
+                // Left unclaimed, so the catch-up range of a later sweep picks them up again
+                failed.increment(batch.size());
+                log.error("Failed to deliver {} task reminders", batch.size(), e);
+            }
+        }
+    }
+
+    // Called for every task write that may have moved dueDate or completion. Windows up to
+    // nextWindow are already swept and the one after may be mid-sweep on another node, so
+    // reminders firing before then are scheduled here; later ones are left to the sweep.
+    // Duplicates across nodes are resolved by the claim in TaskReminderService.
+    public void reschedule(Long taskId, LocalDateTime dueDate, Boolean completed) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doReschedule(taskId, dueDate, completed);
+                }
+            });
+        } else {
+            doReschedule(taskId, dueDate, completed);
+        }
+    }
+
+    private void doReschedule(Long taskId, LocalDateTime dueDate, Boolean completed) {
+        if (Boolean.TRUE.equals(completed) || dueDate == null || !dueDate.isAfter(LocalDateTime.now())) {
+            wheel.cancel(taskId);
+            return;
+        }
+
+        long fireAt = fireAt(dueDate);
+        if (fireAt >= (nextWindow + 1) * window.toMillis()) {
+            wheel.cancel(taskId);
+            return;
+        }
+        wheel.schedule(taskId, fireAt);
+    }
+
+    private int loadWindow(long n) {
+        long windowMillis = window.toMillis();
+        LocalDateTime from = toLocal(n * windowMillis).plus(leadTime);
+        LocalDateTime to = toLocal((n + 1) * windowMillis).plus(leadTime);
+        int loaded = load(from, to);
+
+        // Stops short of the previous window, whose owner may still be firing it
+        LocalDateTime catchUpTo = from.minus(window);
+        LocalDateTime catchUpFrom = from.minus(catchUp);
+        if (catchUpFrom.isBefore(catchUpTo)) {
+            loaded += load(catchUpFrom, catchUpTo);
+        }
+        return loaded;
+    }
+
+    private int load(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime afterDue = from;
+        long afterId = Long.MIN_VALUE;
+        int loaded = 0;
+        List<Object[]> page;
+        do {
+            if (wheel.size() >= maxPending) {
+                log.warn("Reminder wheel is full ({} pending), deferring the rest to catch-up", maxPending);
+                return loaded;
+            }
+            page = taskRepository.findPendingReminders(afterDue, afterId, to, Limit.of(pageSize));
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                afterDue = (LocalDateTime) row[1];
+                wheel.schedule(afterId, fireAt(afterDue));
+            }
+            loaded += page.size();
+        } while (page.size() == pageSize);
+        return loaded;
+    }
+
+    // Only one node sweeps each window. If Redis is down every node sweeps; the claim in
+    // TaskReminderService still keeps each reminder to a single email.
+    private boolean acquireLease(long n) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_PREFIX + n, nodeId, window.multipliedBy(3)));
+        } catch (DataAccessException e) {
+            log.warn("Reminder lease for window {} unavailable, sweeping anyway: {}", n, e.getMessage());
+            return true;
+        }
+    }
+
+    private long fireAt(LocalDateTime dueDate) {
+        return dueDate.minus(leadTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
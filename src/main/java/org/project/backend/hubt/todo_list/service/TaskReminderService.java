@@ -0,0 +1,89 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskReminderService {
+
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    // Re-checks every task under a row lock before claiming it, so a reminder that two nodes
+    // loaded, or that an edit made stale after it was scheduled, goes out at most once. The
+    // claim and the outbox rows commit together. Returns the number of reminders queued.
+    @Transactional
+    public int deliver(Collection<Long> taskIds, LocalDateTime dueBy, LocalDateTime now) {
+        List<Long> claimed = new ArrayList<>();
+        List<Task> notify = new ArrayList<>();
+        for (Task task : taskRepository.findAllByIdInForUpdate(taskIds)) {
+            LocalDateTime dueDate = task.getDueDate();
+            if (Boolean.TRUE.equals(task.getIsCompleted()) || dueDate == null
+                    || dueDate.isAfter(dueBy) || dueDate.equals(task.getRemindedDueDate())) {
+                continue;
+            }
+            claimed.add(task.getId());
+            // Already overdue (picked up late): mark it handled without a "due soon" email
+            if (dueDate.isAfter(now)) {
+                notify.add(task);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        taskRepository.markReminded(claimed);
+        if (notify.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Object[]> contacts = new HashMap<>();
+        List<Long> userIds = notify.stream().map(task -> task.getUser().getId()).distinct().toList();
+        for (Object[] row : userRepository.findContactsByIdIn(userIds)) {
+            contacts.put((Long) row[0], row);
+        }
+
+        List<EmailService.OutgoingEmail> emails = new ArrayList<>(notify.size());
+        for (Task task : notify) {
+            Object[] contact = contacts.get(task.getUser().getId());
+            if (contact == null || contact[2] == null) {
+                continue;
+            }
+            emails.add(new EmailService.OutgoingEmail((String) contact[2],
+                    "Todo List - Reminder: " + task.getTitle(),
+                    buildReminderEmailBody((String) contact[1], task)));
+        }
+        emailService.enqueueEmails(emails);
+        log.debug("Queued {} task reminders", emails.size());
+        return emails.size();
+    }
+
+    private String buildReminderEmailBody(String username, Task task) {
+        return String.format("""
+            Dear %s,
+
+            Your task "%s" is due at %s.
+
+            Best regards,
+            Todo List Team
+            """, username, task.getTitle(), task.getDueDate().format(DUE_FORMAT));
+    }
+}
@@ -0,0 +1,249 @@
+package org.project.backend.hubt.todo_list.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// Inverted index over one user's task titles and descriptions. Callers synchronize on the instance
+// for reads and writes; only the pending set is touched without the lock.
+final class TaskSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private static final double TITLE_BOOST = 2.0;
+    private static final double PREFIX_WEIGHT = 0.6;
+
+    private final TreeMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // Id of the last change event seen, -1 before the first. Ids arrive consecutively, so a jump
+    // means a message was lost.
+    private final AtomicLong lastEventId = new AtomicLong(-1);
+
+    private volatile boolean built;
+    private long estimatedBytes;
+    private volatile long lastAccess = System.nanoTime();
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('\u0111', 'd').replace('\u0110', 'D')
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    // eventId is the user's latest event id read before the documents were loaded
+    void markBuilt(long eventId) {
+        lastEventId.accumulateAndGet(eventId, Math::max);
+        built = true;
+    }
+
+    // Returns false only when events were skipped. An id at or below the last one is a message
+    // that arrived after a build had already covered it, so it is neither a gap nor a step back.
+    boolean observe(long eventId) {
+        long previous = lastEventId.getAndAccumulate(eventId, Math::max);
+        return previous < 0 || eventId <= previous + 1;
+    }
+
+    long lastEventId() {
+        return lastEventId.get();
+    }
+
+    void markPending(Collection<Long> ids) {
+        pending.addAll(ids);
+    }
+
+    List<Long> drainPending() {
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    void put(long id, String title, String description) {
+        remove(id);
+
+        List<String> titleTerms = tokenize(title);
+        Set<String> allTerms = new LinkedHashSet<>(titleTerms);
+        allTerms.addAll(tokenize(description));
+
+        int position = 0;
+        for (String term : allTerms) {
+            PostingList postings = terms.get(term);
+            if (postings == null) {
+                postings = new PostingList();
+                terms.put(term, postings);
+                estimatedBytes += 64 + 2L * term.length();
+            }
+            if (postings.add(posting(id, position++ < titleTerms.size()))) {
+                estimatedBytes += Long.BYTES;
+            }
+        }
+
+        documents.put(id, new Document(allTerms.toArray(String[]::new), titleTerms.size()));
+        estimatedBytes += 64 + 8L * allTerms.size();
+    }
+
+    void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        estimatedBytes -= 64 + 8L * document.terms().length;
+        for (String term : document.terms()) {
+            PostingList postings = terms.get(term);
+            if (postings != null && (postings.remove(posting(id, false)) || postings.remove(posting(id, true)))) {
+                estimatedBytes -= Long.BYTES;
+                if (postings.size() == 0) {
+                    terms.remove(term);
+                    estimatedBytes -= 64 + 2L * term.length();
+                }
+            }
+        }
+    }
+
+    // Every query token must match a term exactly or as a prefix. Scores add up per token using idf,
+    // with prefix matches discounted and title matches boosted. Ties favour newer (higher) ids.
+    List<Long> search(List<String> queryTokens, int limit) {
+        // Most selective token first, so later tokens only re-check the surviving candidates
+        List<TokenMatch> matches = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            TokenMatch match = new TokenMatch(token, terms.subMap(token, true, token + Character.MAX_VALUE, false));
+            if (match.postingCount() == 0) {
+                return List.of();
+            }
+            matches.add(match);
+        }
+        matches.sort(Comparator.comparingLong(TokenMatch::postingCount));
+
+        Map<Long, Double> scores = null;
+        for (TokenMatch match : matches) {
+            scores = scores == null || scores.size() >= match.postingCount()
+                    ? scoreByPostings(match, scores)
+                    : scoreByCandidates(match, scores);
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byScore = Double.compare(a.getValue(), b.getValue());
+            return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+        });
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().getKey();
+        }
+        return List.of(ranked);
+    }
+
+    private Map<Long, Double> scoreByPostings(TokenMatch match, Map<Long, Double> candidates) {
+        Map<Long, Double> tokenScores = new HashMap<>((int) Math.min(Integer.MAX_VALUE / 2, match.postingCount() * 2));
+        for (Map.Entry<String, PostingList> term : match.terms().entrySet()) {
+            PostingList postings = term.getValue();
+            double weight = termWeight(match.token(), term.getKey(), postings.size());
+
+            for (int i = 0; i < postings.size(); i++) {
+                long posting = postings.get(i);
+                Long id = posting >>> 1;
+                Double previous = candidates != null ? candidates.get(id) : Double.valueOf(0);
+                if (previous == null) {
+                    continue;
+                }
+                double score = previous + ((posting & 1) != 0 ? weight * TITLE_BOOST : weight);
+                Double current = tokenScores.get(id);
+                if (current == null || current < score) {
+                    tokenScores.put(id, score);
+                }
+            }
+        }
+        return tokenScores;
+    }
+
+    private Map<Long, Double> scoreByCandidates(TokenMatch match, Map<Long, Double> candidates) {
+        Map<Long, Double> tokenScores = new HashMap<>(candidates.size() * 2);
+        for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+            Document document = documents.get(candidate.getKey());
+            double best = 0;
+            for (int i = 0; i < document.terms().length; i++) {
+                String term = document.terms()[i];
+                if (term.startsWith(match.token())) {
+                    double weight = termWeight(match.token(), term, terms.get(term).size());
+                    best = Math.max(best, i < document.titleTermCount() ? weight * TITLE_BOOST : weight);
+                }
+            }
+            if (best > 0) {
+                tokenScores.put(candidate.getKey(), candidate.getValue() + best);
+            }
+        }
+        return tokenScores;
+    }
+
+    private double termWeight(String token, String term, int documentFrequency) {
+        double idf = Math.log(1 + (double) Math.max(1, documents.size()) / documentFrequency);
+        return term.equals(token) ? idf : idf * PREFIX_WEIGHT;
+    }
+
+    // Postings hold the task id shifted left by one, with the low bit set when the term is in the title
+    private static long posting(long id, boolean inTitle) {
+        return id << 1 | (inTitle ? 1 : 0);
+    }
+
+    private record TokenMatch(String token, NavigableMap<String, PostingList> terms, long postingCount) {
+
+        TokenMatch(String token, NavigableMap<String, PostingList> terms) {
+            this(token, terms, terms.values().stream().mapToLong(PostingList::size).sum());
+        }
+    }
+
+    // Title terms come first in terms[]
+    private record Document(String[] terms, int titleTermCount) {
+    }
+}
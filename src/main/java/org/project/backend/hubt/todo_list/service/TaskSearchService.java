@@ -0,0 +1,186 @@
+package org.project.backend.hubt.todo_list.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.dto.ChangeEvent;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchService implements MessageListener {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final TaskRepository taskRepository;
+    private final ChangeStreamService changeStreamService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, TaskSearchIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${app.search.max-memory:64MB}")
+    private DataSize maxMemory;
+
+    private Timer searchTimer;
+
+    @PostConstruct
+    void init() {
+        searchTimer = meterRegistry.timer("tasks.search.duration");
+        meterRegistry.gaugeMapSize("tasks.search.indexes", Tags.empty(), indexes);
+        meterRegistry.gauge("tasks.search.memory", indexes, map -> map.values().stream()
+                .mapToLong(TaskSearchIndex::estimatedBytes).sum());
+        // Changes from every node arrive here, including our own, after their transaction committed
+        listenerContainer.addMessageListener(this, new ChannelTopic(ChangeStreamService.EVENTS_CHANNEL));
+    }
+
+    public List<TaskResponse> search(Long userId, String query, int limit) {
+        List<String> tokens = TaskSearchIndex.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        return searchTimer.record(() -> {
+            List<Long> ranked = findRankedIds(userId, tokens, Math.max(1, Math.min(limit, MAX_RESULTS)));
+            if (ranked.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, TaskResponse> tasks = taskRepository.findResponsesByIdInAndUserId(ranked, userId).stream()
+                    .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+            return ranked.stream()
+                    .map(tasks::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        });
+    }
+
+    private List<Long> findRankedIds(Long userId, List<String> tokens, int limit) {
+        // Read before any documents are loaded, so a build never claims events it has not seen
+        long latestEventId = changeStreamService.latestEventId(userId);
+        TaskSearchIndex index = indexes.computeIfAbsent(userId, id -> new TaskSearchIndex());
+        if (index.isBuilt() && latestEventId >= 0 && index.lastEventId() != latestEventId) {
+            // Pub/sub dropped change messages (or the sequence expired): start over from the database
+            indexes.remove(userId, index);
+            index = indexes.computeIfAbsent(userId, id -> new TaskSearchIndex());
+        }
+        index.touch();
+
+        boolean builtNow;
+        long bytesBefore;
+        List<Long> ranked;
+        synchronized (index) {
+            bytesBefore = index.estimatedBytes();
+            builtNow = !index.isBuilt();
+            if (builtNow) {
+                for (Object[] row : taskRepository.findSearchDocuments(userId)) {
+                    index.put((Long) row[0], (String) row[1], (String) row[2]);
+                }
+                index.markBuilt(latestEventId);
+            }
+            applyPending(userId, index);
+            ranked = index.search(tokens, limit);
+        }
+
+        if (builtNow) {
+            log.debug("Built search index for user {} ({} bytes)", userId, index.estimatedBytes());
+        }
+        if (index.estimatedBytes() > bytesBefore) {
+            evictColdIndexes(index);
+        }
+        return ranked;
+    }
+
+    private void applyPending(Long userId, TaskSearchIndex index) {
+        List<Long> ids = index.drainPending();
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(ids);
+        for (Object[] row : taskRepository.findSearchDocumentsByIdIn(ids, userId)) {
+            Long id = (Long) row[0];
+            index.put(id, (String) row[1], (String) row[2]);
+            missing.remove(id);
+        }
+        missing.forEach(index::remove);
+    }
+
+    private void evictColdIndexes(TaskSearchIndex keep) {
+        long total = indexes.values().stream().mapToLong(TaskSearchIndex::estimatedBytes).sum();
+        if (total <= maxMemory.toBytes()) {
+            return;
+        }
+
+        List<Map.Entry<Long, TaskSearchIndex>> coldest = indexes.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess()))
+                .toList();
+        for (Map.Entry<Long, TaskSearchIndex> entry : coldest) {
+            if (total <= maxMemory.toBytes()) {
+                break;
+            }
+            if (entry.getValue() != keep && indexes.remove(entry.getKey(), entry.getValue())) {
+                total -= entry.getValue().estimatedBytes();
+                log.debug("Evicted search index for user {}", entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length < 3) {
+            return;
+        }
+
+        Long userId = Long.valueOf(parts[0]);
+        TaskSearchIndex index = indexes.get(userId);
+        if (index == null) {
+            return;
+        }
+        if (!index.observe(Long.parseLong(parts[1]))) {
+            indexes.remove(userId, index);
+            log.debug("Dropped search index for user {} after a gap in change events", userId);
+            return;
+        }
+
+        try {
+            ChangeEvent event = objectMapper.readValue(parts[2], ChangeEvent.class);
+            if (event.getEntity() == ChangeEvent.Entity.TASK) {
+                // Re-read lazily on the next search, which also drops ids that no longer exist
+                index.markPending(event.getIds());
+            } else if (event.getAction() == ChangeEvent.Action.DELETED) {
+                // Deleting a category removes its tasks without naming them
+                indexes.remove(userId, index);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable change event for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,161 +1,458 @@
 package org.project.backend.hubt.todo_list.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.project.backend.hubt.todo_list.dto.ChangeEvent;
+import org.project.backend.hubt.todo_list.dto.TaskBatchRequest;
+import org.project.backend.hubt.todo_list.dto.TaskBatchResponse;
+import org.project.backend.hubt.todo_list.dto.TaskChangesResponse;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskPageResponse;
 import org.project.backend.hubt.todo_list.dto.TaskRequest;
 import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.dto.TaskStatsResponse;
 import org.project.backend.hubt.todo_list.entity.Category;
 import org.project.backend.hubt.todo_list.entity.Task;
 import org.project.backend.hubt.todo_list.entity.User;
+import org.project.backend.hubt.todo_list.exception.ResourceNotFoundException;
 import org.project.backend.hubt.todo_list.exception.UserException;
 import org.project.backend.hubt.todo_list.repository.CategoryRepository;
 import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
 import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListCache taskListCache;
+    private final ChangeStreamService changeStreamService;
+    private final TaskStatsService taskStatsService;
+    private final TaskReminderScheduler taskReminderScheduler;
+    private final Validator validator;
+
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Value("${app.sync.overlap:5s}")
+    private Duration syncOverlap;
+
+    public List<TaskResponse> getAllTasks(Long userId, TaskFilter filter) {
+        if (!filter.isCacheable()) {
+            return taskRepository.findTasks(userId, filter);
+        }
+
+        long version = taskListCache.currentVersion(userId);
+        List<TaskResponse> cached = taskListCache.get(userId, version, filter.getCategoryId(), filter.getIsCompleted());
+        if (cached != null) {
+            return cached;
+        }
 
-    public List<TaskResponse> getAllTasks(String username, Long categoryId, Boolean isCompleted) {
-        User user = getUserByUsername(username);
+        List<TaskResponse> tasks = taskRepository.findTasks(userId, filter);
+        taskListCache.put(userId, version, filter.getCategoryId(), filter.getIsCompleted(), tasks);
+        return tasks;
+    }
 
-        List<Task> tasks = taskRepository.findTasksWithFilters(user.getId(), categoryId, isCompleted);
+    // The overdue filter depends on the clock, so its result can change without a version bump
+    public String getTaskListEtag(Long userId, TaskFilter filter, Object... variant) {
+        if (filter.isOverdueOnly()) {
+            return null;
+        }
+        Object[] parts = Arrays.copyOf(variant, variant.length + 1);
+        parts[variant.length] = filter.canonicalKey();
+        return taskListCache.etag(userId, parts);
+    }
 
-        return tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public TaskResponse getTask(Long userId, Long taskId) {
+        return getTaskResponse(taskId, userId);
     }
 
-    public TaskResponse createTask(String username, TaskRequest request) {
-        User user = getUserByUsername(username);
+    public TaskPageResponse getTasksPage(Long userId, TaskFilter filter, int limit, String cursor) {
+        if (filter.getSort() != TaskFilter.SortField.CREATED_AT) {
+            throw new UserException("Cursor paging only supports sorting by CREATED_AT");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<TaskResponse> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findTasksPage(userId, filter, null, null, pageSize + 1);
+        } else {
+            PageCursor pageCursor = decodeCursor(cursor);
+            tasks = taskRepository.findTasksPage(userId, filter,
+                    pageCursor.createdAt(), pageCursor.id(), pageSize + 1);
+        }
 
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            TaskResponse last = tasks.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return new TaskPageResponse(tasks, nextCursor);
+    }
+
+    public TaskStatsResponse getStats(Long userId) {
+        return taskStatsService.getStats(userId);
+    }
+
+    // The token trails the server clock by syncOverlap so rows committed late with an earlier
+    // updatedAt are still picked up next time; clients apply upserts idempotently.
+    public TaskChangesResponse getChanges(Long userId, String syncToken) {
+        LocalDateTime now = LocalDateTime.now();
+        String nextToken = encodeSyncToken(now.minus(syncOverlap));
+        LocalDateTime since = syncToken == null || syncToken.isBlank() ? null : decodeSyncToken(syncToken);
+
+        if (since == null || since.isBefore(now.minus(tombstoneRetention))) {
+            List<TaskResponse> tasks = taskRepository.findTasks(userId, new TaskFilter());
+            return new TaskChangesResponse(tasks, List.of(), nextToken, true);
+        }
+
+        List<TaskResponse> upserted = taskRepository.findChangedSince(userId, since);
+        List<Long> deleted = taskTombstoneRepository.findTaskIdsDeletedSince(userId, since);
+        return new TaskChangesResponse(upserted, deleted, nextToken, false);
+    }
+
+    @Transactional
+    public TaskResponse createTask(Long userId, TaskRequest request) {
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setPriority(request.getPriority());
         task.setStatus(request.getStatus());
         task.setDueDate(request.getDueDate());
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(userId));
 
         task.setIsCompleted(request.getStatus() == Task.Status.COMPLETED);
 
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
+            Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), userId)
                     .orElseThrow(() -> new UserException("Category not found"));
-
-            if (!category.getUser().getId().equals(user.getId())) {
-                throw new UserException("Category does not belong to user");
-            }
             task.setCategory(category);
         }
 
         Task savedTask = taskRepository.save(task);
+        taskStatsService.markDirty(userId);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.TASK, ChangeEvent.Action.CREATED, List.of(savedTask.getId()));
+        taskReminderScheduler.reschedule(savedTask.getId(), savedTask.getDueDate(), savedTask.getIsCompleted());
         return convertToResponse(savedTask);
     }
 
-    public TaskResponse updateTask(String username, Long taskId, TaskRequest request) {
-        User user = getUserByUsername(username);
+    // Each mutation is one owner-scoped statement. The stats rollups are not diffed here, which
+    // would need the replaced row under a lock; the user is marked dirty and
+    // TaskStatsReconciliationJob recounts their rows after commit.
+    @Transactional
+    public TaskResponse updateTask(Long userId, Long taskId, TaskRequest request) {
+        Category category = getCategoryReference(request.getCategoryId(), userId);
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean completed = request.getStatus() == Task.Status.COMPLETED;
+
+        int updated = taskRepository.updateByIdAndUserId(taskId, userId,
+                request.getTitle(), request.getDescription(), request.getPriority(), request.getStatus(),
+                request.getDueDate(), completed, completed ? now : null, category, now);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return afterUpdate(userId, taskId);
+    }
+
+    @Transactional
+    public TaskResponse toggleTaskCompletion(Long userId, Long taskId) {
+        int updated = taskRepository.toggleCompletionByIdAndUserId(taskId, userId, LocalDateTime.now());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Task not found");
+        }
+        return afterUpdate(userId, taskId);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new UserException("Task not found"));
+    @Transactional
+    public TaskResponse updateTaskStatus(Long userId, Long taskId, Task.Status newStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean completed = newStatus == Task.Status.COMPLETED;
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UserException("Task does not belong to user");
+        int updated = taskRepository.updateStatusByIdAndUserId(taskId, userId,
+                newStatus, completed, completed ? now : null, now);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Task not found");
         }
+        return afterUpdate(userId, taskId);
+    }
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setPriority(request.getPriority());
-        task.setStatus(request.getStatus());
-        task.setDueDate(request.getDueDate());
+    private TaskResponse afterUpdate(Long userId, Long taskId) {
+        taskStatsService.markDirty(userId);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.TASK, ChangeEvent.Action.UPDATED, List.of(taskId));
 
-        task.setIsCompleted(request.getStatus() == Task.Status.COMPLETED);
-        if (request.getStatus() == Task.Status.COMPLETED) {
-            task.setCompletedAt(LocalDateTime.now());
-        } else {
-            task.setCompletedAt(null);
+        TaskResponse response = getTaskResponse(taskId, userId);
+        taskReminderScheduler.reschedule(taskId, response.getDueDate(), response.getIsCompleted());
+        return response;
+    }
+
+    // The tombstone insert-select is owner-scoped too, so it doubles as the existence check
+    @Transactional
+    public void deleteTask(Long userId, Long taskId) {
+        if (taskTombstoneRepository.insertForTask(taskId, userId, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Task not found");
         }
+        taskRepository.deleteByIdAndUserId(taskId, userId);
+        taskStatsService.markDirty(userId);
+        taskListCache.invalidate(userId);
+        changeStreamService.publish(userId, ChangeEvent.Entity.TASK, ChangeEvent.Action.DELETED, List.of(taskId));
+    }
 
-        if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new UserException("Category not found"));
+    @Transactional
+    public TaskBatchResponse executeBatch(Long userId, TaskBatchRequest request) {
+        List<TaskBatchRequest.Operation> operations = request.getOperations();
+        Map<Long, Task> tasks = loadBatchTasks(userId, operations);
+        Map<Long, Category> categories = loadBatchCategories(userId, operations);
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Written up front: once deletes are pending, the insert-select would auto-flush them first
+        Set<Long> deletedIds = operations.stream()
+                .filter(operation -> operation.getType() == TaskBatchRequest.Type.DELETE)
+                .map(TaskBatchRequest.Operation::getId)
+                .filter(tasks::containsKey)
+                .collect(Collectors.toSet());
+        if (!deletedIds.isEmpty()) {
+            taskTombstoneRepository.insertForTasks(deletedIds, userId, now);
+        }
+
+        List<BatchOutcome> outcomes = new ArrayList<>(operations.size());
+        for (TaskBatchRequest.Operation operation : operations) {
+            outcomes.add(applyBatchOperation(operation, user, tasks, categories, now));
+        }
 
-            if (!category.getUser().getId().equals(user.getId())) {
-                throw new UserException("Category does not belong to user");
+        // One flush for the whole batch so Hibernate can group the statements into JDBC batches
+        taskRepository.flush();
+        taskStatsService.markDirty(userId);
+        taskListCache.invalidate(userId);
+
+        List<TaskBatchResponse.Result> results = new ArrayList<>(outcomes.size());
+        int succeeded = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            BatchOutcome outcome = outcomes.get(i);
+            boolean success = outcome.error() == null;
+            if (success) {
+                succeeded++;
             }
-            task.setCategory(category);
-        } else {
-            task.setCategory(null);
+            Long id = outcome.task() != null ? outcome.task().getId() : outcome.id();
+            if (success && outcome.task() != null) {
+                taskReminderScheduler.reschedule(id, outcome.task().getDueDate(), outcome.task().getIsCompleted());
+            }
+            TaskResponse task = outcome.task() != null ? convertToResponse(outcome.task()) : null;
+            results.add(new TaskBatchResponse.Result(i, operations.get(i).getType(), id, success, task, outcome.error()));
         }
 
-        Task savedTask = taskRepository.save(task);
-        return convertToResponse(savedTask);
+        List<Long> changedIds = results.stream()
+                .filter(TaskBatchResponse.Result::isSuccess)
+                .map(TaskBatchResponse.Result::getId)
+                .toList();
+        if (!changedIds.isEmpty()) {
+            changeStreamService.publish(userId, ChangeEvent.Entity.TASK, ChangeEvent.Action.BATCH, changedIds);
+        }
+
+        return new TaskBatchResponse(results, succeeded, results.size() - succeeded);
     }
 
-    public TaskResponse toggleTaskCompletion(String username, Long taskId) {
-        User user = getUserByUsername(username);
+    private BatchOutcome applyBatchOperation(TaskBatchRequest.Operation operation, User user,
+                                             Map<Long, Task> tasks, Map<Long, Category> categories,
+                                             LocalDateTime now) {
+        Long id = operation.getId();
+        TaskRequest request = operation.getTask();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new UserException("Task not found"));
+        if (operation.getType() == TaskBatchRequest.Type.CREATE) {
+            if (request == null) {
+                return BatchOutcome.failure(null, "Task payload is required");
+            }
+            String invalid = validate(request);
+            if (invalid != null) {
+                return BatchOutcome.failure(null, invalid);
+            }
+            if (request.getCategoryId() != null && !categories.containsKey(request.getCategoryId())) {
+                return BatchOutcome.failure(null, "Category not found");
+            }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UserException("Task does not belong to user");
+            Task task = new Task();
+            task.setUser(user);
+            applyRequest(task, request, categories.get(request.getCategoryId()), now);
+            taskRepository.save(task);
+            return BatchOutcome.success(task);
         }
 
-        task.setIsCompleted(!task.getIsCompleted());
-        task.setCompletedAt(task.getIsCompleted() ? LocalDateTime.now() : null);
+        Task task = id != null ? tasks.get(id) : null;
+        if (task == null) {
+            return BatchOutcome.failure(id, "Task not found");
+        }
 
-        Task savedTask = taskRepository.save(task);
-        return convertToResponse(savedTask);
+        switch (operation.getType()) {
+            case UPDATE -> {
+                if (request == null) {
+                    return BatchOutcome.failure(id, "Task payload is required");
+                }
+                String invalid = validate(request);
+                if (invalid != null) {
+                    return BatchOutcome.failure(id, invalid);
+                }
+                if (request.getCategoryId() != null && !categories.containsKey(request.getCategoryId())) {
+                    return BatchOutcome.failure(id, "Category not found");
+                }
+                applyRequest(task, request, categories.get(request.getCategoryId()), now);
+            }
+            case STATUS -> {
+                if (operation.getStatus() == null) {
+                    return BatchOutcome.failure(id, "Status is required");
+                }
+                applyStatus(task, operation.getStatus(), now);
+            }
+            case DELETE -> {
+                taskRepository.delete(task);
+                tasks.remove(id);
+                return new BatchOutcome(null, id, null);
+            }
+            default -> {
+                return BatchOutcome.failure(id, "Unsupported operation");
+            }
+        }
+        return BatchOutcome.success(task);
     }
 
-    public TaskResponse updateTaskStatus(String username, Long taskId, Task.Status newStatus) {
-        User user = getUserByUsername(username);
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new UserException("Task not found"));
+    private Map<Long, Task> loadBatchTasks(Long userId, List<TaskBatchRequest.Operation> operations) {
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation.getType() != TaskBatchRequest.Type.CREATE)
+                .map(TaskBatchRequest.Operation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return taskRepository.findAllByIdInAndUserId(ids, userId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UserException("Task does not belong to user");
+    private Map<Long, Category> loadBatchCategories(Long userId, List<TaskBatchRequest.Operation> operations) {
+        Set<Long> ids = operations.stream()
+                .map(TaskBatchRequest.Operation::getTask)
+                .filter(Objects::nonNull)
+                .map(TaskRequest::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return new HashMap<>();
         }
+        return categoryRepository.findByIdInAndUserId(ids, userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
 
-        task.setStatus(newStatus);
-        task.setIsCompleted(newStatus == Task.Status.COMPLETED);
+    private void applyRequest(Task task, TaskRequest request, Category category, LocalDateTime now) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setPriority(request.getPriority());
+        task.setDueDate(request.getDueDate());
+        task.setCategory(category);
+        applyStatus(task, request.getStatus(), now);
+    }
 
-        if (newStatus == Task.Status.COMPLETED) {
-            task.setCompletedAt(LocalDateTime.now());
-        } else {
-            task.setCompletedAt(null);
+    private void applyStatus(Task task, Task.Status status, LocalDateTime now) {
+        boolean completed = status == Task.Status.COMPLETED;
+        task.setStatus(status);
+        task.setIsCompleted(completed);
+        task.setCompletedAt(completed ? now : null);
+    }
+
+    private record BatchOutcome(Task task, Long id, String error) {
+
+        static BatchOutcome success(Task task) {
+            return new BatchOutcome(task, task.getId(), null);
         }
 
-        Task savedTask = taskRepository.save(task);
-        return convertToResponse(savedTask);
+        static BatchOutcome failure(Long id, String error) {
+            return new BatchOutcome(null, id, error);
+        }
     }
 
-    public void deleteTask(String username, Long taskId) {
-        User user = getUserByUsername(username);
+    private Category getCategoryReference(Long categoryId, Long userId) {
+        if (categoryId == null) {
+            return null;
+        }
+        if (!categoryRepository.existsByIdAndUserId(categoryId, userId)) {
+            throw new UserException("Category not found");
+        }
+        return categoryRepository.getReferenceById(categoryId);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new UserException("Task not found"));
+    private TaskResponse getTaskResponse(Long taskId, Long userId) {
+        return taskRepository.findResponseByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UserException("Task does not belong to user");
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new UserException("Invalid cursor");
         }
+    }
 
-        taskRepository.delete(task);
+    private String encodeSyncToken(LocalDateTime since) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(since.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LocalDateTime decodeSyncToken(String syncToken) {
+        try {
+            return LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(syncToken), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new UserException("Invalid sync token");
+        }
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserException("User not found"));
+    private record PageCursor(LocalDateTime createdAt, Long id) {
     }
 
     private TaskResponse convertToResponse(Task task) {
@@ -0,0 +1,79 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsReconciliationJob {
+
+    private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+
+    @Value("${app.stats.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.stats.reconciliation.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.stats.refresh-batch-size:100}")
+    private int refreshBatchSize;
+
+    // Recounts the users whose tasks changed since the last pass. A user whose rebuild fails is
+    // queued again for the next pass.
+    @Scheduled(fixedDelayString = "${app.stats.refresh-interval:PT5S}")
+    public void refreshDirty() {
+        List<Long> userIds;
+        try {
+            userIds = taskStatsService.popDirty(refreshBatchSize);
+        } catch (DataAccessException e) {
+            log.warn("Task stats refresh skipped: {}", e.getMessage());
+            return;
+        }
+        for (Long userId : userIds) {
+            try {
+                taskStatsService.rebuild(userId);
+            } catch (RuntimeException e) {
+                log.warn("Task stats refresh failed for user {}: {}", userId, e.getMessage());
+                taskStatsService.markDirty(userId);
+            }
+        }
+    }
+
+    // Rebuilds every user's rollups from the tasks table, one transaction per user,
+    // to correct any drift left by crashes or races between concurrent batch writes and to
+    // prune completion days older than app.stats.completion-days
+    @Scheduled(cron = "${app.stats.reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        long lastId = 0;
+        int rebuilt = 0;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(lastId, Limit.of(batchSize));
+            for (Long userId : userIds) {
+                try {
+                    taskStatsService.rebuild(userId);
+                    rebuilt++;
+                } catch (RuntimeException e) {
+                    log.warn("Task stats reconciliation failed for user {}: {}", userId, e.getMessage());
+                }
+                lastId = userId;
+            }
+        } while (userIds.size() == batchSize);
+
+        log.info("Task stats reconciled for {} users", rebuilt);
+    }
+}
@@ -0,0 +1,103 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.dto.TaskStatsResponse;
+import org.project.backend.hubt.todo_list.entity.TaskStat;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskStatRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsService {
+
+    private static final String DIRTY_KEY = "stats:dirty";
+
+    private final TaskStatRepository taskStatRepository;
+    private final TaskRepository taskRepository;
+    @Qualifier("customStringRedisTemplate")
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    @Value("${app.stats.completion-days:30}")
+    private int completionDays;
+
+    @Value("${app.stats.overdue-cap:1000}")
+    private int overdueCap;
+
+    public TaskStatsResponse getStats(Long userId) {
+        TaskStatsResponse response = new TaskStatsResponse();
+
+        for (TaskStat stat : taskStatRepository.findForDashboard(userId, firstCompletionDay().toString())) {
+            switch (stat.getDimension()) {
+                case TOTAL -> response.setTotal(stat.getTaskCount());
+                case STATUS -> response.getByStatus().put(stat.getDimKey(), stat.getTaskCount());
+                case PRIORITY -> response.getByPriority().put(stat.getDimKey(), stat.getTaskCount());
+                case CATEGORY -> response.getByCategory().put(stat.getDimKey(), stat.getTaskCount());
+                case COMPLETED_DAY -> response.getCompletionsPerDay().put(stat.getDimKey(), stat.getTaskCount());
+            }
+        }
+
+        // Overdue depends on the clock rather than on mutations, so it cannot be a rollup row. It is
+        // counted from an index range that stops at overdueCap, keeping the read bounded.
+        long overdue = taskRepository.countOverdue(userId, LocalDateTime.now(), overdueCap);
+        response.setOverdue(overdue);
+        response.setOverdueCapped(overdue >= overdueCap);
+        return response;
+    }
+
+    // Task mutations stay single statements, so rollups are recounted rather than diffed: the user
+    // is queued once the mutation commits and refreshDirty() rebuilds their rows shortly after.
+    // A lost mark (Redis down) is corrected by the nightly reconciliation.
+    public void markDirty(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addDirty(userId);
+                }
+            });
+        } else {
+            addDirty(userId);
+        }
+    }
+
+    // SPOP hands each queued user to exactly one node
+    public List<Long> popDirty(int count) {
+        List<String> members = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, count);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream().map(Long::valueOf).toList();
+    }
+
+    private void addDirty(Long userId) {
+        try {
+            stringRedisTemplate.opsForSet().add(DIRTY_KEY, userId.toString());
+        } catch (DataAccessException e) {
+            log.warn("Could not queue a stats refresh for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void rebuild(Long userId) {
+        taskStatRepository.deleteByUserId(userId);
+        taskStatRepository.rebuildForUser(userId, firstCompletionDay().atStartOfDay());
+    }
+
+    private LocalDate firstCompletionDay() {
+        return LocalDate.now().minusDays(completionDays - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package org.project.backend.hubt.todo_list.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTombstoneCompactionJob {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    // Sync tokens older than this get a full resync, so their tombstones are no longer needed
+    @Value("${app.sync.tombstone-retention:P30D}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${app.sync.compaction-interval:PT1H}",
+               initialDelayString = "${app.sync.compaction-initial-delay:PT5M}")
+    public void compact() {
+        int removed = taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Compacted {} task tombstones", removed);
+        }
+    }
+}
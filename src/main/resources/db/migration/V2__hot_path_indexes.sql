@@ -0,0 +1,14 @@
+-- TaskRepository keyset pages (created_at, id)
+CREATE INDEX idx_tasks_user_created_id ON tasks (user_id, created_at, id);
+
+-- TaskRepository.findTasksWithFilters / findByUserIdAndIsCompletedOrderByCreatedAtDesc
+CREATE INDEX idx_tasks_user_completed_created ON tasks (user_id, is_completed, created_at);
+
+-- TaskRepository.findTasksWithFilters / findByUserIdAndCategoryIdOrderByCreatedAtDesc
+CREATE INDEX idx_tasks_user_category_created ON tasks (user_id, category_id, created_at);
+
+-- CategoryRepository.findByUserIdOrderByCreatedAtDesc
+CREATE INDEX idx_categories_user_created ON categories (user_id, created_at);
+
+-- CategoryRepository.existsByNameAndUserId
+CREATE INDEX idx_categories_user_name ON categories (user_id, name);
@@ -0,0 +1,10 @@
+-- Task ids move from AUTO_INCREMENT to a pooled table generator (allocationSize = 50)
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- The pooled optimizer hands out (next_val - 49 .. next_val) first, so seed above the current max id
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tasks', COALESCE(MAX(id), 0) + 50 FROM tasks;
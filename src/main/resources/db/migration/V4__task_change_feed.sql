@@ -0,0 +1,15 @@
+-- TaskRepository.findChangedSince
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at);
+
+CREATE TABLE task_tombstones (
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (task_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- TaskTombstoneRepository.findTaskIdsDeletedSince (task_id rides along as the primary key)
+CREATE INDEX idx_task_tombstones_user_deleted ON task_tombstones (user_id, deleted_at);
+
+-- TaskTombstoneCompactionJob
+CREATE INDEX idx_task_tombstones_deleted ON task_tombstones (deleted_at);
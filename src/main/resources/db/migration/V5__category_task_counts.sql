@@ -0,0 +1,2 @@
+-- CategoryRepository.findResponsesByUserId counts total and open tasks per category from this index alone
+CREATE INDEX idx_tasks_category_completed ON tasks (category_id, is_completed);
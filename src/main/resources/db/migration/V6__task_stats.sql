@@ -0,0 +1,23 @@
+CREATE TABLE task_stats (
+    user_id BIGINT NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    dim_key VARCHAR(32) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, dimension, dim_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- TaskRepository.countOverdue
+CREATE INDEX idx_tasks_user_completed_due ON tasks (user_id, is_completed, due_date);
+
+INSERT INTO task_stats (user_id, dimension, dim_key, task_count)
+SELECT user_id, 'TOTAL', 'ALL', COUNT(*) FROM tasks GROUP BY user_id
+UNION ALL
+SELECT user_id, 'STATUS', COALESCE(status, 'NONE'), COUNT(*) FROM tasks GROUP BY user_id, status
+UNION ALL
+SELECT user_id, 'PRIORITY', COALESCE(priority, 'NONE'), COUNT(*) FROM tasks GROUP BY user_id, priority
+UNION ALL
+SELECT user_id, 'CATEGORY', COALESCE(CAST(category_id AS CHAR), 'NONE'), COUNT(*) FROM tasks GROUP BY user_id, category_id
+UNION ALL
+SELECT user_id, 'COMPLETED_DAY', CAST(CAST(completed_at AS DATE) AS CHAR(10)), COUNT(*) FROM tasks
+WHERE is_completed = TRUE AND completed_at IS NOT NULL
+GROUP BY user_id, CAST(CAST(completed_at AS DATE) AS CHAR(10));
@@ -0,0 +1,8 @@
+-- TaskRepositoryCustomImpl emits one statement per filter shape; these cover the shapes the
+-- earlier indexes do not. Category, completion and overdue use the V2/V6 indexes, created and
+-- updated ranges use idx_tasks_user_created_id and idx_tasks_user_updated.
+CREATE INDEX idx_tasks_user_status_created ON tasks (user_id, status, created_at);
+CREATE INDEX idx_tasks_user_priority_created ON tasks (user_id, priority, created_at);
+
+-- Due-date ranges and sort=DUE_DATE
+CREATE INDEX idx_tasks_user_due ON tasks (user_id, due_date);
@@ -0,0 +1,4 @@
+ALTER TABLE tasks ADD COLUMN reminded_due_date DATETIME(6) NULL;
+
+-- TaskReminderScheduler sweeps upcoming due dates across all users in time windows
+CREATE INDEX idx_tasks_due_completed ON tasks (due_date, is_completed);
@@ -0,0 +1,5 @@
+-- EmailOutboxWorker stops retrying mail past this (OTP emails expire with their code)
+ALTER TABLE email_outbox ADD COLUMN expires_at DATETIME(6) NULL;
+
+-- EmailOutboxWorker purges sent rows once they pass their retention
+CREATE INDEX idx_email_outbox_status_sent ON email_outbox (status, sent_at);
@@ -3,11 +3,9 @@ package org.project.backend.hubt.todo_list;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootApplication
 @SpringBootTest
 @ActiveProfiles("test")
 public class TodoListApplicationTests {
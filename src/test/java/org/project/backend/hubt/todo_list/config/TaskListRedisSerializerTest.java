@@ -0,0 +1,57 @@
+package org.project.backend.hubt.todo_list.config;
+
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskListRedisSerializerTest {
+
+    private final TaskListRedisSerializer serializer = new TaskListRedisSerializer();
+
+    @Test
+    void roundTripsEveryField() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 3, 4, 5, 6, 789_000_123);
+        TaskResponse full = new TaskResponse(7L, "Write report", "Quarterly numbers", true,
+                Task.Status.COMPLETED, Task.Priority.URGENT, createdAt.plusDays(2), createdAt.plusDays(1),
+                createdAt, createdAt.plusHours(1), 3L, "Work", "#ff0000");
+        TaskResponse sparse = new TaskResponse(8L, "Ünïcødé ✓", null, null, null, null,
+                null, null, null, null, null, null, null);
+
+        List<TaskResponse> tasks = serializer.deserialize(serializer.serialize(List.of(full, sparse)));
+
+        assertThat(tasks).usingRecursiveFieldByFieldElementComparator().containsExactly(full, sparse);
+    }
+
+    @Test
+    void roundTripsEmptyList() {
+        assertThat(serializer.deserialize(serializer.serialize(List.of()))).isEmpty();
+    }
+
+    @Test
+    void olderFormatReadsAsMiss() {
+        byte[] bytes = serializer.serialize(List.of(new TaskResponse(1L, "a", null, false, Task.Status.TODO,
+                Task.Priority.LOW, null, null, null, null, null, null, null)));
+        bytes[0] = 0;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.serialize(null)).isNull();
+    }
+
+    @Test
+    void truncatedEntryFails() {
+        byte[] bytes = serializer.serialize(List.of(new TaskResponse(1L, "a", "b", false, Task.Status.TODO,
+                Task.Priority.LOW, null, null, null, null, null, null, null)));
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsApply() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertThat(applied).isNotEmpty();
+        assertThat(Arrays.stream(applied).allMatch(info -> info.getState().isApplied())).isTrue();
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void baselineHoldsOnlyThePreMigrationSchema() throws IOException {
+        // Existing databases are baselined at V1 and never run it, so later objects must live in V2+
+        String baseline = new ClassPathResource("db/migration/V1__baseline.sql")
+                .getContentAsString(StandardCharsets.UTF_8).toLowerCase();
+        assertThat(baseline).doesNotContain("email_outbox", "create index");
+
+        assertThat(tableExists("email_outbox")).isTrue();
+        assertThat(indexExists("idx_tasks_user_created_id")).isTrue();
+    }
+
+    @Test
+    void emailOutboxHasItsOwnMigration() throws IOException {
+        String hotPathIndexes = new ClassPathResource("db/migration/V2__hot_path_indexes.sql")
+                .getContentAsString(StandardCharsets.UTF_8).toLowerCase();
+        assertThat(hotPathIndexes).doesNotContain("email_outbox");
+
+        // Runs after V2 and before V9 alters the table
+        assertThat(flyway.info().applied()).extracting(info -> info.getVersion().getVersion())
+                .containsSubsequence("2", "2.1", "3", "9");
+    }
+
+    @Test
+    void hotQueriesUseTheirIndexes() {
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND is_completed = FALSE ORDER BY created_at DESC"))
+                .containsIgnoringCase("idx_tasks_user_completed");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND category_id = 2 ORDER BY created_at DESC"))
+                .containsIgnoringCase("idx_tasks_user_category_created");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND status = 'TODO' ORDER BY created_at DESC"))
+                .containsIgnoringCase("idx_tasks_user_status_created");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND updated_at >= TIMESTAMP '2026-01-01 00:00:00'"))
+                .containsIgnoringCase("idx_tasks_user_updated");
+        assertThat(explain("SELECT id FROM tasks WHERE due_date >= TIMESTAMP '2026-01-01 00:00:00' " +
+                "AND due_date < TIMESTAMP '2026-01-01 00:05:00' AND is_completed = FALSE"))
+                .containsIgnoringCase("idx_tasks_due_completed");
+        assertThat(explain("SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= NOW()"))
+                .containsIgnoringCase("idx_email_outbox_status_next_attempt");
+        assertThat(explain("SELECT id FROM email_outbox WHERE status = 'SENT' AND sent_at < NOW()"))
+                .containsIgnoringCase("idx_email_outbox_status_sent");
+        assertThat(explain("SELECT id FROM categories WHERE user_id = 1 AND name = 'Work'"))
+                .containsIgnoringCase("idx_categories_user_name");
+    }
+
+    @Test
+    void filterShapesUseTheirIndexes() {
+        // The statements TaskRepositoryCustomImpl emits for these shapes, in the column order Hibernate writes
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND priority IN ('LOW', 'HIGH') " +
+                "ORDER BY created_at DESC, id DESC"))
+                .containsIgnoringCase("idx_tasks_user_priority_created:");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND due_date >= TIMESTAMP '2026-01-01 00:00:00' " +
+                "AND due_date < TIMESTAMP '2026-02-01 00:00:00' ORDER BY due_date ASC, id ASC"))
+                .containsIgnoringCase("idx_tasks_user_due:");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND is_completed = FALSE " +
+                "AND due_date < TIMESTAMP '2026-01-01 00:00:00' ORDER BY created_at DESC, id DESC"))
+                .containsIgnoringCase("idx_tasks_user_completed_due:");
+        assertThat(explain("SELECT id FROM tasks WHERE user_id = 1 AND created_at >= TIMESTAMP '2026-01-01 00:00:00' " +
+                "AND created_at < TIMESTAMP '2026-02-01 00:00:00' ORDER BY created_at DESC, id DESC"))
+                .containsIgnoringCase("idx_tasks_user_created_id:");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean indexExists(String index) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = ?", Integer.class, index);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,203 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskRepositoryFilterTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final String BASE = TaskRepository.TASK_RESPONSE_SELECT + "WHERE t.user.id = :userId";
+    private static final String NEWEST_FIRST = " ORDER BY t.createdAt DESC, t.id DESC";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        insertUser(USER_ID, "alice");
+        insertUser(OTHER_USER_ID, "bob");
+        jdbcTemplate.update("INSERT INTO categories (id, name, color_code, user_id) VALUES (1, 'Work', '#f00', ?)", USER_ID);
+
+        // id, completed, status, priority, due in days from START, category
+        insertTask(1, USER_ID, false, "TODO", "LOW", 1, 1L);
+        insertTask(2, USER_ID, true, "COMPLETED", "HIGH", 2, null);
+        insertTask(3, USER_ID, false, "IN_PROGRESS", "URGENT", null, 1L);
+        insertTask(4, USER_ID, false, "TODO", "MEDIUM", 10, null);
+        insertTask(5, OTHER_USER_ID, false, "TODO", "LOW", 1, null);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void emptyFilterOnlyScopesToTheUser() {
+        assertThat(ids(new TaskFilter())).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(executedJpql()).isEqualTo(BASE + NEWEST_FIRST);
+    }
+
+    @Test
+    void categoryShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setCategoryId(1L);
+
+        assertThat(ids(filter)).containsExactly(3L, 1L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.category.id = :categoryId" + NEWEST_FIRST);
+    }
+
+    @Test
+    void completedShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setIsCompleted(true);
+
+        assertThat(ids(filter)).containsExactly(2L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.isCompleted = :isCompleted" + NEWEST_FIRST);
+    }
+
+    @Test
+    void statusAndPriorityShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(Task.Status.TODO);
+        filter.setPriority(Set.of(Task.Priority.LOW, Task.Priority.MEDIUM));
+
+        assertThat(ids(filter)).containsExactly(4L, 1L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.status = :status AND t.priority IN :priorities" + NEWEST_FIRST);
+    }
+
+    @Test
+    void dueRangeShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setDueFrom(START.plusDays(2));
+        filter.setDueTo(START.plusDays(10));
+
+        assertThat(ids(filter)).containsExactly(2L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.dueDate >= :dueFrom AND t.dueDate < :dueTo" + NEWEST_FIRST);
+    }
+
+    @Test
+    void overdueShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setOverdue(true);
+
+        // Every due date is in 2026-01, so all incomplete tasks with one are overdue
+        assertThat(ids(filter)).containsExactly(4L, 1L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.isCompleted = false AND t.dueDate < :now" + NEWEST_FIRST);
+    }
+
+    @Test
+    void createdAndUpdatedRangeShape() {
+        TaskFilter filter = new TaskFilter();
+        filter.setCreatedFrom(START.plusMinutes(2));
+        filter.setCreatedTo(START.plusMinutes(4));
+        filter.setUpdatedFrom(START);
+        filter.setUpdatedTo(START.plusDays(1));
+
+        assertThat(ids(filter)).containsExactly(3L, 2L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.createdAt >= :createdFrom AND t.createdAt < :createdTo" +
+                " AND t.updatedAt >= :updatedFrom AND t.updatedAt < :updatedTo" + NEWEST_FIRST);
+    }
+
+    @Test
+    void dueDateSortAscendingByDefault() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSort(TaskFilter.SortField.DUE_DATE);
+        filter.setIsCompleted(false);
+
+        // Where the undated task lands depends on the database's null ordering
+        assertThat(ids(filter)).hasSize(3).containsSubsequence(1L, 4L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.isCompleted = :isCompleted ORDER BY t.dueDate ASC, t.id ASC");
+    }
+
+    @Test
+    void prioritySortRanksByUrgency() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSort(TaskFilter.SortField.PRIORITY);
+
+        assertThat(ids(filter)).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(executedJpql()).startsWith(BASE + " ORDER BY CASE t.priority WHEN ")
+                .endsWith(" END DESC, t.createdAt DESC, t.id DESC");
+    }
+
+    @Test
+    void keysetPageAddsTheCursorPredicate() {
+        TaskFilter filter = new TaskFilter();
+        filter.setCategoryId(1L);
+
+        List<TaskResponse> page = taskRepository.findTasksPage(USER_ID, filter, createdAt(3), 3L, 10);
+
+        assertThat(page).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(executedJpql()).isEqualTo(BASE + " AND t.category.id = :categoryId" +
+                " AND (t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id < :afterId))" +
+                NEWEST_FIRST);
+    }
+
+    @Test
+    void sameShapeWithOtherValuesReusesTheStatement() {
+        TaskFilter first = new TaskFilter();
+        first.setStatus(Task.Status.TODO);
+        TaskFilter second = new TaskFilter();
+        second.setStatus(Task.Status.COMPLETED);
+
+        assertThat(ids(first)).containsExactly(4L, 1L);
+        assertThat(ids(second)).containsExactly(2L);
+        assertThat(statistics.getQueries()).hasSize(1);
+        assertThat(statistics.getQueryStatistics(executedJpql()).getExecutionCount()).isEqualTo(2);
+    }
+
+    private List<Long> ids(TaskFilter filter) {
+        return taskRepository.findTasks(USER_ID, filter).stream().map(TaskResponse::getId).toList();
+    }
+
+    private String executedJpql() {
+        assertThat(statistics.getQueries()).hasSize(1);
+        return statistics.getQueries()[0];
+    }
+
+    private void insertUser(long id, String username) {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, is_active, is_verified) " +
+                "VALUES (?, ?, ?, 'x', TRUE, TRUE)", id, username, username + "@example.com");
+    }
+
+    private void insertTask(long id, long userId, boolean completed, String status, String priority,
+                            Integer dueInDays, Long categoryId) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, is_completed, status, priority, due_date, created_at, " +
+                        "updated_at, user_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, "Task " + id, completed, status, priority,
+                dueInDays != null ? Timestamp.valueOf(START.plusDays(dueInDays)) : null,
+                Timestamp.valueOf(createdAt(id)), Timestamp.valueOf(createdAt(id)), userId, categoryId);
+    }
+
+    private static LocalDateTime createdAt(long id) {
+        return START.plusMinutes(id);
+    }
+}
@@ -0,0 +1,74 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskRepositoryQueryTest {
+
+    private static final long USER_ID = 1L;
+    private static final int TASK_COUNT = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, is_active, is_verified) " +
+                "VALUES (?, 'alice', 'alice@example.com', 'x', TRUE, TRUE)", USER_ID);
+        jdbcTemplate.update("INSERT INTO categories (id, name, color_code, user_id) VALUES (1, 'Work', '#f00', ?)", USER_ID);
+        jdbcTemplate.update("INSERT INTO categories (id, name, color_code, user_id) VALUES (2, 'Home', '#0f0', ?)", USER_ID);
+
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(TASK_COUNT);
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i));
+            rows.add(new Object[]{(long) i, "Task " + i, i % 2 == 0, "TODO", "MEDIUM", createdAt, createdAt,
+                    USER_ID, i % 3 == 0 ? null : (long) (i % 2 + 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, is_completed, status, priority, created_at, " +
+                "updated_at, user_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingWithCategoriesIsOneStatement() {
+        List<TaskResponse> tasks = taskRepository.findTasks(USER_ID, new TaskFilter());
+
+        assertThat(tasks).hasSize(TASK_COUNT);
+        assertThat(tasks.get(0).getId()).isEqualTo(TASK_COUNT);
+        assertThat(tasks).filteredOn(task -> task.getCategory() != null)
+                .allSatisfy(task -> assertThat(task.getCategory().getName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,80 @@
+package org.project.backend.hubt.todo_list.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskStatRepositoryTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private TaskStatRepository taskStatRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, is_active, is_verified) " +
+                "VALUES (?, 'alice', 'alice@example.com', 'x', TRUE, TRUE)", USER_ID);
+    }
+
+    @Test
+    void rebuildLeavesOutCompletionDaysBeforeTheWindow() {
+        insertTask(1, true, LocalDateTime.of(2026, 10, 18, 9, 30), null);
+        insertTask(2, true, LocalDateTime.of(2026, 10, 18, 23, 59), null);
+        insertTask(3, true, LocalDateTime.of(2026, 8, 1, 12, 0), null);
+        insertTask(4, false, null, null);
+        jdbcTemplate.update("INSERT INTO task_stats (user_id, dimension, dim_key, task_count) " +
+                "VALUES (?, 'COMPLETED_DAY', '2026-08-01', 1)", USER_ID);
+
+        taskStatRepository.deleteByUserId(USER_ID);
+        taskStatRepository.rebuildForUser(USER_ID, LocalDateTime.of(2026, 9, 19, 0, 0));
+
+        assertThat(count("TOTAL", "ALL")).isEqualTo(4);
+        assertThat(count("COMPLETED_DAY", "2026-10-18")).isEqualTo(2);
+        assertThat(count("COMPLETED_DAY", "2026-08-01")).isNull();
+    }
+
+    @Test
+    void countOverdueStopsAtTheCap() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+        for (int i = 1; i <= 5; i++) {
+            insertTask(i, false, null, now.minusDays(i));
+        }
+        insertTask(6, false, null, now.plusDays(1));
+        insertTask(7, true, now, now.minusDays(1));
+
+        assertThat(taskRepository.countOverdue(USER_ID, now, 100)).isEqualTo(5);
+        assertThat(taskRepository.countOverdue(USER_ID, now, 3)).isEqualTo(3);
+    }
+
+    private void insertTask(long id, boolean completed, LocalDateTime completedAt, LocalDateTime dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, is_completed, status, priority, completed_at, " +
+                        "due_date, user_id) VALUES (?, ?, ?, ?, 'MEDIUM', ?, ?, ?)",
+                id, "Task " + id, completed, completed ? "COMPLETED" : "TODO",
+                completedAt != null ? Timestamp.valueOf(completedAt) : null,
+                dueDate != null ? Timestamp.valueOf(dueDate) : null, USER_ID);
+    }
+
+    private Long count(String dimension, String dimKey) {
+        return jdbcTemplate.query("SELECT task_count FROM task_stats WHERE user_id = ? AND dimension = ? AND dim_key = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, USER_ID, dimension, dimKey);
+    }
+}
@@ -0,0 +1,113 @@
+package org.project.backend.hubt.todo_list.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.AuthRequest;
+import org.project.backend.hubt.todo_list.entity.User;
+import org.project.backend.hubt.todo_list.exception.PasswordException;
+import org.project.backend.hubt.todo_list.exception.UserException;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.project.backend.hubt.todo_list.security.JwtUtil;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceLoginTest {
+
+    private static final String HASH = "$2a$10$storedhash";
+
+    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+    private RedisService redisService;
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        redisService = mock(RedisService.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateToken(any(), anyString(), anyString())).thenReturn("access");
+        when(jwtUtil.generateRefreshToken(any(), anyString(), anyString())).thenReturn("refresh");
+        authService = new AuthService(userRepository, passwordHashingService, jwtUtil,
+                mock(OtpService.class), redisService, mock(TransactionTemplate.class));
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword(HASH);
+        user.setIsActive(true);
+        user.setIsVerified(true);
+        when(userRepository.findByUsernameOrEmail("alice")).thenReturn(List.of(user));
+    }
+
+    @Test
+    void successfulLoginRehashesAfterTheSessionIsIssued() {
+        when(passwordHashingService.matches("secret", HASH)).thenReturn(true);
+
+        assertThat(authService.login(request("secret")).getUsername()).isEqualTo("alice");
+
+        verify(redisService).storeSession(anyString(), anyString(), anyString(), anyString());
+        verify(passwordHashingService).rehashIfNeeded(any(), any(), any());
+    }
+
+    @Test
+    void disabledAccountIsRejectedWithoutHashing() {
+        user.setIsActive(false);
+
+        assertThatThrownBy(() -> authService.login(request("secret")))
+                .isInstanceOf(UserException.class).hasMessage("Account is disabled");
+
+        verify(passwordHashingService, never()).matches(any(), any());
+        verify(passwordHashingService, never()).rehashIfNeeded(any(), any(), any());
+    }
+
+    @Test
+    void unverifiedAccountIsRejectedWithoutHashing() {
+        user.setIsVerified(false);
+
+        assertThatThrownBy(() -> authService.login(request("secret"))).isInstanceOf(UserException.class);
+
+        verify(passwordHashingService, never()).matches(any(), any());
+        verify(passwordHashingService, never()).rehashIfNeeded(any(), any(), any());
+    }
+
+    @Test
+    void wrongPasswordNeverRehashes() {
+        when(passwordHashingService.matches("wrong", HASH)).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login(request("wrong"))).isInstanceOf(PasswordException.class);
+
+        verify(passwordHashingService, never()).rehashIfNeeded(any(), any(), any());
+    }
+
+    @Test
+    void failedSessionIssueNeverRehashes() {
+        when(passwordHashingService.matches("secret", HASH)).thenReturn(true);
+        doThrow(new IllegalStateException("Redis down"))
+                .when(redisService).storeSession(anyString(), anyString(), anyString(), anyString());
+
+        assertThatThrownBy(() -> authService.login(request("secret"))).isInstanceOf(IllegalStateException.class);
+
+        verify(passwordHashingService, never()).rehashIfNeeded(any(), any(), any());
+    }
+
+    private AuthRequest request(String password) {
+        AuthRequest request = new AuthRequest();
+        request.setUsernameOrEmail("alice");
+        request.setPassword(password);
+        return request;
+    }
+}
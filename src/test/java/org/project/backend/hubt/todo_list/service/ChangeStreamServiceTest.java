@@ -0,0 +1,68 @@
+package org.project.backend.hubt.todo_list.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ChangeStreamServiceTest {
+
+    private ChangeStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChangeStreamService(mock(RedisTemplate.class), mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(service, "maxConnections", 100);
+        ReflectionTestUtils.setField(service, "maxConnectionsPerUser", 5);
+        ReflectionTestUtils.setField(service, "sendThreads", 1);
+        ReflectionTestUtils.setField(service, "sendQueueCapacity", 10);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void revocationClosesOnlyThatUsersStreams() {
+        SseEmitter alice = service.subscribe(1L, null);
+        SseEmitter bob = service.subscribe(2L, null);
+
+        // What RedisService publishes on logout, password change or rename, whatever the username is now
+        service.onMessage(revocation("1"), null);
+
+        assertThatThrownBy(() -> alice.send(SseEmitter.event().comment("ping")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatCode(() -> bob.send(SseEmitter.event().comment("ping"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void malformedRevocationIsIgnored() {
+        SseEmitter alice = service.subscribe(1L, null);
+
+        service.onMessage(revocation("alice"), null);
+
+        assertThatCode(() -> alice.send(SseEmitter.event().comment("ping"))).doesNotThrowAnyException();
+    }
+
+    private DefaultMessage revocation(String body) {
+        return new DefaultMessage(RedisService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
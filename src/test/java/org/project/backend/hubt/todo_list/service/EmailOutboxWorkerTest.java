@@ -0,0 +1,191 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.project.backend.hubt.todo_list.entity.EmailOutbox;
+import org.project.backend.hubt.todo_list.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Every repository call commits on its own, as it does under the scheduler
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxWorkerTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JavaMailSender mailSender;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = mock(JavaMailSender.class);
+        emailService = new EmailService(mailSender, emailOutboxRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void transientFailureIsRetriedAndThenSent() {
+        doThrow(new MailSendException("Connection refused"))
+                .doNothing()
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+        long id = enqueue("alice@example.com");
+        EmailOutboxWorker worker = worker(emailOutboxRepository);
+
+        worker.poll();
+
+        EmailOutbox failed = row(id);
+        assertThat(failed.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("Connection refused");
+        assertThat(failed.getLockedBy()).isNull();
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        // Not due yet, so the next poll leaves it alone
+        worker.poll();
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+
+        makeDue(id);
+        worker.poll();
+
+        EmailOutbox sent = row(id);
+        assertThat(sent.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(sent.getLastError()).isNull();
+        assertThat(sent.getLockedBy()).isNull();
+        verify(mailSender, times(2)).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    void failureThatNeverClearsEndsInTheDeadLetter() {
+        doThrow(new MailSendException("550 Mailbox unavailable"))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+        long id = enqueue("nobody@example.com");
+        EmailOutboxWorker worker = worker(emailOutboxRepository);
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            worker.poll();
+            assertThat(row(id).getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+            assertThat(row(id).getAttempts()).isEqualTo(attempt);
+            makeDue(id);
+        }
+        worker.poll();
+
+        EmailOutbox dead = row(id);
+        assertThat(dead.getStatus()).isEqualTo(EmailOutbox.Status.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(dead.getLastError()).isEqualTo("550 Mailbox unavailable");
+        assertThat(dead.getLockedBy()).isNull();
+        assertThat(dead.getSentAt()).isNull();
+
+        // Dead letters are never picked up again
+        makeDue(id);
+        worker.poll();
+        verify(mailSender, times(MAX_ATTEMPTS)).send(any(SimpleMailMessage[].class));
+        assertThat(row(id).getStatus()).isEqualTo(EmailOutbox.Status.DEAD);
+    }
+
+    @Test
+    void twoWorkersClaimingTheSameRowsSendEachOnce() {
+        doNothing().when(mailSender).send(any(SimpleMailMessage[].class));
+        long first = enqueue("alice@example.com");
+        long second = enqueue("bob@example.com");
+        EmailOutboxWorker workerA = worker(emailOutboxRepository);
+
+        // Worker B reads the due ids, then worker A claims and sends them before B's claim runs
+        EmailOutboxRepository repositoryB = mock(EmailOutboxRepository.class, delegatesTo(emailOutboxRepository));
+        doAnswer(invocation -> {
+            List<Long> due = emailOutboxRepository.findDueIds(invocation.getArgument(0),
+                    invocation.getArgument(1), invocation.<Limit>getArgument(2));
+            workerA.poll();
+            return due;
+        }).when(repositoryB).findDueIds(any(), any(), any());
+        EmailOutboxWorker workerB = worker(repositoryB);
+
+        workerB.poll();
+
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender, times(1)).send(sent.capture());
+        assertThat(sent.getValue()).extracting(message -> message.getTo()[0])
+                .containsExactlyInAnyOrder("alice@example.com", "bob@example.com");
+        verify(repositoryB).claim(any(), any(), any(), any(), any());
+        for (long id : List.of(first, second)) {
+            EmailOutbox row = row(id);
+            assertThat(row.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+            assertThat(row.getAttempts()).isZero();
+            assertThat(row.getLockedBy()).isNull();
+        }
+    }
+
+    private EmailOutboxWorker worker(EmailOutboxRepository repository) {
+        EmailOutboxWorker worker = new EmailOutboxWorker(repository, emailService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(worker, "enabled", true);
+        ReflectionTestUtils.setField(worker, "workers", 2);
+        ReflectionTestUtils.setField(worker, "batchSize", 20);
+        ReflectionTestUtils.setField(worker, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(worker, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(worker, "maxBackoff", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(worker, "lockTimeout", Duration.ofMinutes(5));
+        worker.init();
+        worker.shutdown();
+        // Send on the polling thread so each poll has finished when it returns
+        ReflectionTestUtils.setField(worker, "executor", new ExecutorServiceAdapter(new SyncTaskExecutor()));
+        return worker;
+    }
+
+    private long enqueue(String to) {
+        emailService.enqueueEmail(to, "Subject", "Body");
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM email_outbox", Long.class);
+    }
+
+    private void makeDue(long id) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?",
+                LocalDateTime.now().minusSeconds(1), id);
+    }
+
+    private EmailOutbox row(long id) {
+        return emailOutboxRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,50 @@
+package org.project.backend.hubt.todo_list.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void keepsValuesSortedWhateverTheInsertOrder() {
+        PostingList postings = new PostingList();
+        for (long value : new long[]{40, 10, 30, 50, 20, 5, 60}) {
+            assertThat(postings.add(value)).isTrue();
+        }
+
+        assertThat(values(postings)).containsExactly(5, 10, 20, 30, 40, 50, 60);
+    }
+
+    @Test
+    void rejectsDuplicates() {
+        PostingList postings = new PostingList();
+        postings.add(7);
+
+        assertThat(postings.add(7)).isFalse();
+        assertThat(postings.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removesOnlyPresentValues() {
+        PostingList postings = new PostingList();
+        for (long value = 1; value <= 100; value++) {
+            postings.add(value);
+        }
+
+        assertThat(postings.remove(50)).isTrue();
+        assertThat(postings.remove(50)).isFalse();
+        assertThat(postings.remove(1000)).isFalse();
+        assertThat(postings.size()).isEqualTo(99);
+        assertThat(postings.get(48)).isEqualTo(49);
+        assertThat(postings.get(49)).isEqualTo(51);
+    }
+
+    private long[] values(PostingList postings) {
+        long[] values = new long[postings.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = postings.get(i);
+        }
+        return values;
+    }
+}
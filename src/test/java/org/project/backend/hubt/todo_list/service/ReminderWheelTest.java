@@ -0,0 +1,126 @@
+package org.project.backend.hubt.todo_list.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_000_000;
+
+    @Test
+    void firesOnceTheFireTimeIsReached() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + 3 * TICK);
+
+        assertThat(wheel.advance(START + 2 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 3 * TICK)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(START + 4 * TICK)).isEmpty();
+    }
+
+    @Test
+    void firesEverythingDueInOneAdvance() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + TICK);
+        wheel.schedule(2L, START + 2 * TICK);
+        wheel.schedule(3L, START + 5 * TICK);
+
+        assertThat(wheel.advance(START + 2 * TICK)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledEntriesDoNotFire() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + TICK);
+        wheel.schedule(2L, START + TICK);
+
+        wheel.cancel(1L);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + TICK)).containsExactly(2L);
+    }
+
+    @Test
+    void cancellingAnUnknownTaskIsANoOp() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+
+        wheel.cancel(42L);
+
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleReplacesThePendingEntry() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + TICK);
+        wheel.schedule(1L, START + 4 * TICK);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 3 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 4 * TICK)).containsExactly(1L);
+    }
+
+    @Test
+    void rescheduleEarlierFiresOnlyAtTheNewTime() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + 5 * TICK);
+        wheel.schedule(1L, START + 2 * TICK);
+
+        assertThat(wheel.advance(START + 2 * TICK)).containsExactly(1L);
+        assertThat(wheel.advance(START + 5 * TICK)).isEmpty();
+    }
+
+    @Test
+    void pastFireTimesGoOffOnTheNextTick() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START - 10 * TICK);
+        wheel.schedule(2L, START);
+
+        assertThat(wheel.advance(START + TICK / 2)).isEmpty();
+        assertThat(wheel.advance(START + TICK)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void entriesBeyondOneRotationWaitForTheirRound() {
+        // Rounded up to four slots, so the entry shares its slot with ticks 2 and 6
+        ReminderWheel wheel = new ReminderWheel(TICK, 4, START);
+        wheel.schedule(1L, START + 10 * TICK);
+
+        List<Long> fired = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            fired.addAll(wheel.advance(START + i * TICK));
+        }
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 10 * TICK)).containsExactly(1L);
+    }
+
+    @Test
+    void longPauseWalksEachSlotOnce() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 4, START);
+        wheel.schedule(1L, START + TICK);
+        wheel.schedule(2L, START + 3 * TICK);
+        wheel.schedule(3L, START + 7 * TICK);
+        wheel.schedule(4L, START + 50 * TICK);
+
+        assertThat(wheel.advance(START + 20 * TICK)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 50 * TICK)).containsExactly(4L);
+    }
+
+    @Test
+    void advancingBackwardsOrWithinATickFiresNothing() {
+        ReminderWheel wheel = new ReminderWheel(TICK, 64, START);
+        wheel.schedule(1L, START + TICK);
+
+        assertThat(wheel.advance(START - TICK)).isEmpty();
+        assertThat(wheel.advance(START + TICK - 1)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
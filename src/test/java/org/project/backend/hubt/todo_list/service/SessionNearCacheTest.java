@@ -0,0 +1,68 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SessionNearCacheTest {
+
+    @Test
+    void returnsCachedTokenUntilTtlExpires() throws InterruptedException {
+        SessionNearCache cache = newCache(Duration.ofMillis(50));
+
+        cache.put("alice", "token-1");
+        assertThat(cache.get("alice")).isEqualTo("token-1");
+
+        Thread.sleep(80);
+        assertThat(cache.get("alice")).isNull();
+    }
+
+    @Test
+    void invalidationMessageClearsEveryNode() {
+        SessionNearCache nodeA = newCache(Duration.ofSeconds(30));
+        SessionNearCache nodeB = newCache(Duration.ofSeconds(30));
+        nodeA.put("alice", "token-1");
+        nodeB.put("alice", "token-1");
+        nodeB.put("bob", "token-2");
+
+        // What RedisService publishes on logout or session rotation, as delivered to each node
+        DefaultMessage message = new DefaultMessage(
+                SessionNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "alice".getBytes(StandardCharsets.UTF_8));
+        nodeA.onMessage(message, null);
+        nodeB.onMessage(message, null);
+
+        assertThat(nodeA.get("alice")).isNull();
+        assertThat(nodeB.get("alice")).isNull();
+        assertThat(nodeB.get("bob")).isEqualTo("token-2");
+    }
+
+    @Test
+    void staysWithinMaxSize() {
+        SessionNearCache cache = newCache(Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.get("a")).isNull();
+    }
+
+    private SessionNearCache newCache(Duration ttl) {
+        SessionNearCache cache = new SessionNearCache(mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "ttl", ttl);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,67 @@
+package org.project.backend.hubt.todo_list.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskListCacheTest {
+
+    private static final String KEY = "tasks:list:1:5:-:-";
+
+    private RedisTemplate<String, List<TaskResponse>> taskListRedisTemplate;
+    private ValueOperations<String, List<TaskResponse>> valueOperations;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskListCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        taskListRedisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(taskListRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskListCache(mock(RedisTemplate.class), taskListRedisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        cache.init();
+    }
+
+    @Test
+    void unreadableEntryIsAMissAndIsDropped() {
+        when(valueOperations.get(KEY)).thenThrow(new SerializationException("Truncated task list entry"));
+
+        assertThat(cache.get(1L, 5, null, null)).isNull();
+
+        verify(taskListRedisTemplate).delete(KEY);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("error")).isZero();
+    }
+
+    @Test
+    void unavailableRedisIsAnErrorAndKeepsTheEntry() {
+        when(valueOperations.get(KEY)).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertThat(cache.get(1L, 5, null, null)).isNull();
+
+        verify(taskListRedisTemplate, never()).delete(anyString());
+        assertThat(count("error")).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("tasks.list_cache.requests", "result", result).count();
+    }
+}
@@ -0,0 +1,113 @@
+package org.project.backend.hubt.todo_list.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Indexing and query cost of one user's index at the 50k-task target (search budget: 5 ms).
+// Documents come from a fixed seed, so runs are comparable. Run with:
+//   mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test
+//   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+//       org.project.backend.hubt.todo_list.service.TaskSearchIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int RESULTS = 20;
+
+    @Param("50000")
+    private int tasks;
+
+    private String[] titles;
+    private String[] descriptions;
+    private TaskSearchIndex index;
+
+    // Every query token is also matched as a prefix; terms are zero-padded so "w0001" matches only
+    // itself while "w012" covers w0120 to w0129
+    private final List<String> commonTerm = List.of("w0001");
+    private final List<String> rareTerm = List.of("w4321");
+    private final List<String> prefix = List.of("w012");
+    private final List<String> twoTerms = List.of("w0003", "w0017");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        titles = new String[tasks];
+        descriptions = new String[tasks];
+        for (int i = 0; i < tasks; i++) {
+            titles[i] = words(random, 3 + random.nextInt(5));
+            descriptions[i] = words(random, 10 + random.nextInt(30));
+        }
+        index = build();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TaskSearchIndex buildIndex() {
+        return build();
+    }
+
+    @Benchmark
+    public List<Long> searchCommonTerm() {
+        return index.search(commonTerm, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> searchRareTerm() {
+        return index.search(rareTerm, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> searchPrefix() {
+        return index.search(prefix, RESULTS);
+    }
+
+    @Benchmark
+    public List<Long> searchTwoTerms() {
+        return index.search(twoTerms, RESULTS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private TaskSearchIndex build() {
+        TaskSearchIndex built = new TaskSearchIndex();
+        for (int i = 0; i < tasks; i++) {
+            built.put(i + 1, titles[i], descriptions[i]);
+        }
+        built.markBuilt(0);
+        return built;
+    }
+
+    // Skewed towards low word numbers, so a few terms are common and most are rare, as in real text
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double skew = random.nextDouble();
+            text.append(i == 0 ? "" : " ").append(String.format("w%04d", (int) (VOCABULARY * skew * skew * skew)));
+        }
+        return text.toString();
+    }
+}
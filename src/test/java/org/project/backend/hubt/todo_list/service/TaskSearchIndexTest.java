@@ -0,0 +1,88 @@
+package org.project.backend.hubt.todo_list.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    @Test
+    void tokenizeFoldsCaseAndDiacriticsAndDropsDuplicates() {
+        assertThat(TaskSearchIndex.tokenize("Đặt lịch họp — Café, café!"))
+                .containsExactly("dat", "lich", "hop", "cafe");
+        assertThat(TaskSearchIndex.tokenize("   ")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize("x".repeat(60))).containsExactly("x".repeat(40));
+    }
+
+    @Test
+    void everyTokenMustMatchExactlyOrAsPrefix() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Buy groceries", "milk and bread");
+        index.put(2, "Book flights", "for the conference");
+        index.put(3, "Bread recipe", null);
+
+        assertThat(index.search(List.of("bread"), 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search(List.of("gro", "milk"), 10)).containsExactly(1L);
+        assertThat(index.search(List.of("bo"), 10)).containsExactly(2L);
+        assertThat(index.search(List.of("bread", "flights"), 10)).isEmpty();
+        assertThat(index.search(List.of("nothing"), 10)).isEmpty();
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndBreaksTiesByNewestId() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Notes", "report draft");
+        index.put(2, "Report", null);
+        index.put(4, "Report", null);
+
+        assertThat(index.search(List.of("report"), 10)).containsExactly(4L, 2L, 1L);
+        assertThat(index.search(List.of("report"), 2)).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void discountsPrefixMatchesAgainstEquallyRareExactOnes() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Report", null);
+        index.put(2, "Reporting", null);
+
+        assertThat(index.search(List.of("report"), 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void putReplacesAndRemoveForgetsDocuments() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.put(1, "Old title", null);
+        index.put(1, "New title", null);
+
+        assertThat(index.search(List.of("old"), 10)).isEmpty();
+        assertThat(index.search(List.of("new"), 10)).containsExactly(1L);
+
+        index.remove(1);
+        assertThat(index.search(List.of("title"), 10)).isEmpty();
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void observeFlagsGapsInEventIds() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.markBuilt(5);
+
+        assertThat(index.observe(6)).isTrue();
+        assertThat(index.observe(7)).isTrue();
+        assertThat(index.observe(9)).isFalse();
+    }
+
+    @Test
+    void observeAcceptsLateEventsWithoutMovingBack() {
+        // Built after reading latest = 5 while message 5 was still in flight
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.markBuilt(5);
+
+        assertThat(index.observe(5)).isTrue();
+        assertThat(index.observe(3)).isTrue();
+        assertThat(index.lastEventId()).isEqualTo(5);
+        assertThat(index.observe(6)).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package org.project.backend.hubt.todo_list.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskSearchServiceTest {
+
+    private TaskRepository taskRepository;
+    private ChangeStreamService changeStreamService;
+    private TaskSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        changeStreamService = mock(ChangeStreamService.class);
+        searchService = new TaskSearchService(taskRepository, changeStreamService,
+                mock(RedisMessageListenerContainer.class), new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(searchService, "maxMemory", DataSize.ofMegabytes(64));
+        searchService.init();
+
+        when(taskRepository.findSearchDocuments(anyLong()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "Write report", null}));
+        when(changeStreamService.latestEventId(1L)).thenReturn(10L);
+    }
+
+    @Test
+    void consecutiveEventsKeepTheIndex() {
+        searchService.search(1L, "report", 10);
+        searchService.onMessage(event(1L, 11), null);
+        when(changeStreamService.latestEventId(1L)).thenReturn(11L);
+
+        searchService.search(1L, "report", 10);
+
+        verify(taskRepository, times(1)).findSearchDocuments(1L);
+        verify(taskRepository).findSearchDocumentsByIdIn(List.of(1L), 1L);
+    }
+
+    @Test
+    void gapInEventsRebuildsTheIndex() {
+        searchService.search(1L, "report", 10);
+        searchService.onMessage(event(1L, 12), null);
+        when(changeStreamService.latestEventId(1L)).thenReturn(12L);
+
+        searchService.search(1L, "report", 10);
+
+        verify(taskRepository, times(2)).findSearchDocuments(1L);
+    }
+
+    @Test
+    void eventsLostWithoutLaterMessagesAreCaughtAtSearchTime() {
+        searchService.search(1L, "report", 10);
+        // Events 11 and 12 were published while this node's subscription was down
+        when(changeStreamService.latestEventId(1L)).thenReturn(12L);
+
+        searchService.search(1L, "report", 10);
+
+        verify(taskRepository, times(2)).findSearchDocuments(1L);
+    }
+
+    @Test
+    void lateMessageAfterARebuildDoesNotDropTheIndexAgain() {
+        searchService.search(1L, "report", 10);
+        // The search sees event 11 before its message reaches this node and rebuilds at 11
+        when(changeStreamService.latestEventId(1L)).thenReturn(11L);
+        searchService.search(1L, "report", 10);
+
+        searchService.onMessage(event(1L, 11), null);
+        searchService.search(1L, "report", 10);
+
+        verify(taskRepository, times(2)).findSearchDocuments(1L);
+    }
+
+    @Test
+    void growthFromPendingChangesEvictsColdIndexes() {
+        when(changeStreamService.latestEventId(2L)).thenReturn(0L);
+        searchService.search(1L, "report", 10);
+        searchService.search(2L, "report", 10);
+        // Both fit; the next update of user 2 does not
+        ReflectionTestUtils.setField(searchService, "maxMemory", DataSize.ofBytes(800));
+        searchService.onMessage(event(2L, 1), null);
+        when(changeStreamService.latestEventId(2L)).thenReturn(1L);
+        when(taskRepository.findSearchDocumentsByIdIn(any(), eq(2L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "Write report", "a much longer description ".repeat(8)}));
+
+        searchService.search(2L, "report", 10);
+        searchService.search(1L, "report", 10);
+
+        verify(taskRepository, times(2)).findSearchDocuments(1L);
+        verify(taskRepository, times(1)).findSearchDocuments(2L);
+    }
+
+    private DefaultMessage event(Long userId, long eventId) {
+        String body = userId + ":" + eventId + ":{\"entity\":\"TASK\",\"action\":\"UPDATED\",\"ids\":[1]}";
+        return new DefaultMessage(ChangeStreamService.EVENTS_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
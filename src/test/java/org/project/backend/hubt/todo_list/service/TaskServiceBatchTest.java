@@ -0,0 +1,61 @@
+package org.project.backend.hubt.todo_list.service;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskBatchRequest;
+import org.project.backend.hubt.todo_list.dto.TaskBatchResponse;
+import org.project.backend.hubt.todo_list.dto.TaskRequest;
+import org.project.backend.hubt.todo_list.entity.Task;
+import org.project.backend.hubt.todo_list.repository.CategoryRepository;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskServiceBatchTest {
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskService = new TaskService(taskRepository, mock(UserRepository.class), mock(CategoryRepository.class),
+                mock(TaskTombstoneRepository.class), mock(TaskListCache.class), mock(ChangeStreamService.class),
+                mock(TaskStatsService.class), mock(TaskReminderScheduler.class),
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void invalidPayloadFailsOnlyItsOwnOperation() {
+        TaskBatchRequest request = new TaskBatchRequest();
+        request.setOperations(List.of(create(""), create("Write report")));
+
+        TaskBatchResponse response = taskService.executeBatch(1L, request);
+
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).isSuccess()).isFalse();
+        assertThat(response.getResults().get(0).getError()).contains("Task title is required");
+        assertThat(response.getResults().get(1).isSuccess()).isTrue();
+        assertThat(response.getResults().get(1).getTask().getTitle()).isEqualTo("Write report");
+        verify(taskRepository, times(1)).save(any(Task.class));
+    }
+
+    private TaskBatchRequest.Operation create(String title) {
+        TaskRequest task = new TaskRequest();
+        task.setTitle(title);
+        TaskBatchRequest.Operation operation = new TaskBatchRequest.Operation();
+        operation.setType(TaskBatchRequest.Type.CREATE);
+        operation.setTask(task);
+        return operation;
+    }
+}
@@ -0,0 +1,79 @@
+package org.project.backend.hubt.todo_list.service;
+
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.backend.hubt.todo_list.dto.TaskFilter;
+import org.project.backend.hubt.todo_list.dto.TaskPageResponse;
+import org.project.backend.hubt.todo_list.dto.TaskResponse;
+import org.project.backend.hubt.todo_list.exception.UserException;
+import org.project.backend.hubt.todo_list.repository.CategoryRepository;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServicePagingTest {
+
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskService = new TaskService(taskRepository, mock(UserRepository.class), mock(CategoryRepository.class),
+                mock(TaskTombstoneRepository.class), mock(TaskListCache.class), mock(ChangeStreamService.class),
+                mock(TaskStatsService.class), mock(TaskReminderScheduler.class), mock(Validator.class));
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastTaskOfThePage() {
+        TaskFilter filter = new TaskFilter();
+        // Sub-millisecond precision must survive the round trip, or rows sharing a second repeat
+        LocalDateTime newest = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_456_789);
+        LocalDateTime middle = newest.minusNanos(1_000);
+        when(taskRepository.findTasksPage(eq(1L), eq(filter), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(task(30L, newest), task(20L, middle), task(10L, middle.minusDays(1))));
+
+        TaskPageResponse first = taskService.getTasksPage(1L, filter, 2, null);
+        assertThat(first.getItems()).extracting(TaskResponse::getId).containsExactly(30L, 20L);
+        assertThat(first.getNextCursor()).isNotBlank();
+
+        taskService.getTasksPage(1L, filter, 2, first.getNextCursor());
+        verify(taskRepository).findTasksPage(1L, filter, middle, 20L, 3);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(taskRepository.findTasksPage(eq(1L), any(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(task(10L, LocalDateTime.now())));
+
+        assertThat(taskService.getTasksPage(1L, new TaskFilter(), 2, null).getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> taskService.getTasksPage(1L, new TaskFilter(), 2, "not-a-cursor"))
+                .isInstanceOf(UserException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private TaskResponse task(Long id, LocalDateTime createdAt) {
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+}
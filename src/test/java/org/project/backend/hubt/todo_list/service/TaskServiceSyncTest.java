@@ -0,0 +1,81 @@
+package org.project.backend.hubt.todo_list.service;
+
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.project.backend.hubt.todo_list.dto.TaskChangesResponse;
+import org.project.backend.hubt.todo_list.exception.UserException;
+import org.project.backend.hubt.todo_list.repository.CategoryRepository;
+import org.project.backend.hubt.todo_list.repository.TaskRepository;
+import org.project.backend.hubt.todo_list.repository.TaskTombstoneRepository;
+import org.project.backend.hubt.todo_list.repository.UserRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceSyncTest {
+
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private TaskRepository taskRepository;
+    private TaskTombstoneRepository taskTombstoneRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskTombstoneRepository = mock(TaskTombstoneRepository.class);
+        taskService = new TaskService(taskRepository, mock(UserRepository.class), mock(CategoryRepository.class),
+                taskTombstoneRepository, mock(TaskListCache.class), mock(ChangeStreamService.class),
+                mock(TaskStatsService.class), mock(TaskReminderScheduler.class), mock(Validator.class));
+        ReflectionTestUtils.setField(taskService, "syncOverlap", OVERLAP);
+        ReflectionTestUtils.setField(taskService, "tombstoneRetention", Duration.ofDays(30));
+        when(taskRepository.findTasks(eq(1L), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void tokenRoundTripsToTheIssueTimeMinusOverlap() {
+        LocalDateTime before = LocalDateTime.now();
+        TaskChangesResponse first = taskService.getChanges(1L, null);
+        LocalDateTime after = LocalDateTime.now();
+        assertThat(first.isFullResync()).isTrue();
+
+        TaskChangesResponse second = taskService.getChanges(1L, first.getSyncToken());
+
+        assertThat(second.isFullResync()).isFalse();
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).findChangedSince(eq(1L), since.capture());
+        assertThat(since.getValue()).isBetween(before.minus(OVERLAP), after.minus(OVERLAP));
+        verify(taskTombstoneRepository).findTaskIdsDeletedSince(1L, since.getValue());
+    }
+
+    @Test
+    void tokenOlderThanTombstoneRetentionForcesFullResync() {
+        String stale = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                LocalDateTime.now().minusDays(31).toString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(taskService.getChanges(1L, stale).isFullResync()).isTrue();
+        verify(taskRepository, never()).findChangedSince(any(), any());
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThatThrownBy(() -> taskService.getChanges(1L, "%%%"))
+                .isInstanceOf(UserException.class)
+                .hasMessage("Invalid sync token");
+    }
+}